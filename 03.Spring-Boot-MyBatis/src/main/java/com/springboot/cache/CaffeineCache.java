@@ -0,0 +1,114 @@
+package com.springboot.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.builder.InitializingObject;
+import org.apache.ibatis.cache.Cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * 基于Caffeine的MyBatis二级缓存实现。
+ * 通过 @CacheNamespace(implementation = CaffeineCache.class, readWrite = false) 在Mapper上启用，
+ * 同一命名空间下的insert、update、delete语句提交后MyBatis会调用clear()清空缓存。
+ * 注意：缓存中保存的是查询结果对象本身，调用方不应修改返回的对象。
+ */
+public class CaffeineCache implements Cache, InitializingObject {
+
+	/**
+	 * 所有已创建的缓存，按命名空间索引，便于查看统计信息
+	 */
+	private static final Map<String, CaffeineCache> CACHES = new ConcurrentHashMap<>();
+
+	private final String id;
+
+	/**
+	 * 最大缓存条数，由@CacheNamespace的properties注入
+	 */
+	private long maximumSize = 10000;
+
+	/**
+	 * 写入后过期时间（秒），由@CacheNamespace的properties注入
+	 */
+	private long expireAfterWriteSeconds = 600;
+
+	private com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
+
+	public CaffeineCache(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * MyBatis注入properties后调用，创建Caffeine缓存
+	 */
+	@Override
+	public void initialize() {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(this.maximumSize)
+				.expireAfterWrite(this.expireAfterWriteSeconds, TimeUnit.SECONDS)
+				.recordStats()
+				.build();
+		CACHES.put(this.id, this);
+	}
+
+	@Override
+	public String getId() {
+		return this.id;
+	}
+
+	@Override
+	public void putObject(Object key, Object value) {
+		// Caffeine不允许null值，MyBatis提交事务时会为未命中的key写入null
+		if (value == null) {
+			this.cache.invalidate(key);
+		} else {
+			this.cache.put(key, value);
+		}
+	}
+
+	@Override
+	public Object getObject(Object key) {
+		return this.cache.getIfPresent(key);
+	}
+
+	@Override
+	public Object removeObject(Object key) {
+		return this.cache.asMap().remove(key);
+	}
+
+	@Override
+	public void clear() {
+		this.cache.invalidateAll();
+	}
+
+	@Override
+	public int getSize() {
+		return (int) this.cache.estimatedSize();
+	}
+
+	/**
+	 * 获取命中、未命中、淘汰等统计信息
+	 */
+	public CacheStats stats() {
+		return this.cache.stats();
+	}
+
+	public void setMaximumSize(long maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	public void setExpireAfterWriteSeconds(long expireAfterWriteSeconds) {
+		this.expireAfterWriteSeconds = expireAfterWriteSeconds;
+	}
+
+	/**
+	 * 获取所有命名空间的缓存
+	 */
+	public static Map<String, CaffeineCache> getCaches() {
+		return Collections.unmodifiableMap(CACHES);
+	}
+}
@@ -1,12 +1,30 @@
 package com.springboot.controller;
 
 import jakarta.annotation.Resource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.springboot.bean.Student;
+import com.springboot.cache.CaffeineCache;
 import com.springboot.service.StudentService;
 
 /**
@@ -21,6 +39,9 @@ public class TestController {
 	@Resource
 	private StudentService studentService;
 
+	@Resource
+	private ObjectMapper objectMapper;
+
 	/**
 	 * 根据学生学号查询学生信息。
 	 *
@@ -31,4 +52,80 @@ public class TestController {
 	public Student queryStudentBySno(String sno) {
 		return this.studentService.queryStudentBySno(sno);
 	}
+
+	/**
+	 * 批量导入学生信息。
+	 *
+	 * @param students 学生列表（JSON数组）
+	 * @return 返回受影响的总行数
+	 */
+	@RequestMapping(value = "/importstudents", method = RequestMethod.POST)
+	public int importStudents(@RequestBody List<Student> students) {
+		return this.studentService.addAll(students);
+	}
+
+	/**
+	 * 批量更新学生信息。
+	 *
+	 * @param students 学生列表（JSON数组），按学号匹配
+	 * @return 返回受影响的总行数
+	 */
+	@RequestMapping(value = "/updatestudents", method = RequestMethod.POST)
+	public int updateStudents(@RequestBody List<Student> students) {
+		return this.studentService.updateAll(students);
+	}
+
+	/**
+	 * 批量删除学生信息。
+	 *
+	 * @param snos 学号列表（JSON数组）
+	 * @return 返回受影响的总行数
+	 */
+	@RequestMapping(value = "/deletestudents", method = RequestMethod.POST)
+	public int deleteStudents(@RequestBody List<String> snos) {
+		return this.studentService.deleteAll(snos);
+	}
+
+	/**
+	 * 以游标方式导出全部学生信息，每行一个JSON对象（NDJSON），边读边写。
+	 *
+	 * @return 流式响应体
+	 */
+	@RequestMapping(value = "/exportstudents", method = RequestMethod.GET)
+	public ResponseEntity<StreamingResponseBody> exportStudents() {
+		StreamingResponseBody body = out -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			this.studentService.forEachStudent(student -> {
+				try {
+					writer.write(this.objectMapper.writeValueAsString(student));
+					writer.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			writer.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	/**
+	 * 查看MyBatis二级缓存的命中率等统计信息。
+	 *
+	 * @return 每个命名空间的缓存统计
+	 */
+	@RequestMapping(value = "/cachestats", method = RequestMethod.GET)
+	public Map<String, Object> cacheStats() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		CaffeineCache.getCaches().forEach((id, cache) -> {
+			CacheStats stats = cache.stats();
+			Map<String, Object> item = new LinkedHashMap<>();
+			item.put("size", cache.getSize());
+			item.put("hitCount", stats.hitCount());
+			item.put("missCount", stats.missCount());
+			item.put("hitRate", stats.hitRate());
+			item.put("evictionCount", stats.evictionCount());
+			result.put(id, item);
+		});
+		return result;
+	}
 }
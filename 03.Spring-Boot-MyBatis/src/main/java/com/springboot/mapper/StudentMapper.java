@@ -1,9 +1,17 @@
 package com.springboot.mapper;
 
 import org.apache.ibatis.annotations.*;
+import org.apache.ibatis.cursor.Cursor;
 import com.springboot.bean.Student;
+import com.springboot.cache.CaffeineCache;
 
 @Mapper  // 确保使用了 @Mapper 注解
+// 二级缓存：add、update、deleteBysno执行后自动清空本命名空间的缓存
+// readWrite = false：直接缓存结果对象，不经SerializedCache序列化复制，调用方不应修改返回的对象
+@CacheNamespace(implementation = CaffeineCache.class, readWrite = false, properties = {
+        @Property(name = "maximumSize", value = "${student.cache.maximum-size}"),
+        @Property(name = "expireAfterWriteSeconds", value = "${student.cache.expire-after-write-seconds}")
+})
 public interface StudentMapper {
 
     @Insert("insert into student(sno,sname,ssex) values(#{sno},#{name},#{sex})")
@@ -22,4 +30,13 @@ public interface StudentMapper {
          @Result(property = "sex", column = "ssex", javaType = String.class)
     })
     Student queryStudentBySno(String sno);
+
+    /**
+     * 游标方式查询全部学生，逐行读取而不是一次性加载到List
+     * 游标需要在事务内（SqlSession未关闭时）遍历
+     */
+    @Select("select * from student")
+    @ResultMap("student")
+    @Options(fetchSize = 1000)
+    Cursor<Student> queryStudentsCursor();
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.springboot.service;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import com.springboot.bean.Student;
 
 /**
@@ -38,4 +41,35 @@ public interface StudentService {
      * @return 返回查询到的学生对象，如果未找到则返回null
      */
     Student queryStudentBySno(String sno);
+
+    /**
+     * 批量添加学生信息，通过BATCH执行器分批提交。
+     *
+     * @param students 要添加的学生列表
+     * @return 返回受影响的总行数
+     */
+    int addAll(List<Student> students);
+
+    /**
+     * 批量更新学生信息，通过BATCH执行器分批提交。
+     *
+     * @param students 要更新的学生列表
+     * @return 返回受影响的总行数
+     */
+    int updateAll(List<Student> students);
+
+    /**
+     * 根据学号批量删除学生信息，通过BATCH执行器分批提交。
+     *
+     * @param snos 要删除的学生学号列表
+     * @return 返回受影响的总行数
+     */
+    int deleteAll(List<String> snos);
+
+    /**
+     * 以游标方式遍历全部学生信息，内存占用与数据量无关。
+     *
+     * @param consumer 每个学生对象的处理逻辑
+     */
+    void forEachStudent(Consumer<Student> consumer);
 }
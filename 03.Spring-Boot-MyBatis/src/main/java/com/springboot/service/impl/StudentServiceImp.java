@@ -1,7 +1,22 @@
 package com.springboot.service.impl;
 
+import java.io.IOException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
 
 import com.springboot.bean.Student;
 import com.springboot.mapper.StudentMapper;
@@ -17,6 +32,26 @@ public class StudentServiceImp implements StudentService{
 	@Autowired
 	private StudentMapper studentMapper;
 
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
+	/**
+	 * 批量操作时每执行多少条语句提交一次
+	 */
+	@Value("${student.batch-size:500}")
+	private int batchSize;
+
+	/**
+	 * 使用BATCH执行器的SqlSession，只用于批量方法。
+	 * 不注册为Bean，避免替换掉自动配置的SIMPLE执行器SqlSessionTemplate。
+	 */
+	private SqlSessionTemplate batchSqlSessionTemplate;
+
+	@PostConstruct
+	public void init() {
+		this.batchSqlSessionTemplate = new SqlSessionTemplate(this.sqlSessionFactory, ExecutorType.BATCH);
+	}
+
 	/**
 	 * 添加学生信息到数据库。
 	 *
@@ -60,4 +95,83 @@ public class StudentServiceImp implements StudentService{
 	public Student queryStudentBySno(String sno) {
 		return this.studentMapper.queryStudentBySno(sno);
 	}
+
+	/**
+	 * 批量添加学生信息，每batchSize条语句提交一次批处理。
+	 * BATCH执行器的SqlSession需要在事务内才能跨多次调用复用。
+	 *
+	 * @param students 要添加的学生列表
+	 * @return 返回受影响的总行数
+	 */
+	@Override
+	@Transactional
+	public int addAll(List<Student> students) {
+		return executeBatch(students, StudentMapper::add);
+	}
+
+	/**
+	 * 批量更新学生信息。
+	 *
+	 * @param students 要更新的学生列表
+	 * @return 返回受影响的总行数
+	 */
+	@Override
+	@Transactional
+	public int updateAll(List<Student> students) {
+		return executeBatch(students, StudentMapper::update);
+	}
+
+	/**
+	 * 根据学号批量删除学生信息。
+	 *
+	 * @param snos 要删除的学生学号列表
+	 * @return 返回受影响的总行数
+	 */
+	@Override
+	@Transactional
+	public int deleteAll(List<String> snos) {
+		return executeBatch(snos, StudentMapper::deleteBysno);
+	}
+
+	/**
+	 * 以游标方式遍历全部学生信息，游标在只读事务内打开和关闭。
+	 *
+	 * @param consumer 每个学生对象的处理逻辑
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void forEachStudent(Consumer<Student> consumer) {
+		try (Cursor<Student> cursor = this.studentMapper.queryStudentsCursor()) {
+			cursor.forEach(consumer);
+		} catch (IOException e) {
+			throw new IllegalStateException("关闭学生游标失败", e);
+		}
+	}
+
+	private <T> int executeBatch(List<T> items, BiConsumer<StudentMapper, T> statement) {
+		StudentMapper batchMapper = this.batchSqlSessionTemplate.getMapper(StudentMapper.class);
+		int rows = 0;
+		int pending = 0;
+		for (T item : items) {
+			statement.accept(batchMapper, item);
+			if (++pending >= this.batchSize) {
+				rows += affectedRows(this.batchSqlSessionTemplate.flushStatements());
+				pending = 0;
+			}
+		}
+		return rows + affectedRows(this.batchSqlSessionTemplate.flushStatements());
+	}
+
+	/**
+	 * 汇总批处理影响的行数，驱动改写批量语句后可能只返回SUCCESS_NO_INFO，此时按1行计
+	 */
+	private static int affectedRows(List<BatchResult> results) {
+		int rows = 0;
+		for (BatchResult result : results) {
+			for (int count : result.getUpdateCounts()) {
+				rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+			}
+		}
+		return rows;
+	}
 }
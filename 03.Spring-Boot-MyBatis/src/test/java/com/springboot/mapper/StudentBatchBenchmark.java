@@ -0,0 +1,139 @@
+package com.springboot.mapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.springboot.bean.Student;
+
+/**
+ * 学生导入吞吐量基准测试（行/秒），对比逐条自动提交的SIMPLE执行器和分批提交的BATCH执行器
+ * 默认使用H2内存数据库（MySQL模式），可通过 -Dbenchmark.url、-Dbenchmark.username、
+ * -Dbenchmark.password 指向真实的MySQL，网络往返越大批处理的收益越明显
+ *
+ * 运行方式：mvn test-compile 后在IDE中执行main方法
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(StudentBatchBenchmark.ROWS)
+public class StudentBatchBenchmark {
+
+    static final int ROWS = 1000;
+
+    @Param({"100", "500"})
+    private int batchSize;
+
+    private PooledDataSource dataSource;
+    private SqlSessionFactory sqlSessionFactory;
+    private long sequence;
+
+    @Setup
+    public void setup() throws SQLException {
+        dataSource = new PooledDataSource(
+                org.h2.Driver.class.getName(),
+                System.getProperty("benchmark.url", "jdbc:h2:mem:student;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                System.getProperty("benchmark.username", "sa"),
+                System.getProperty("benchmark.password", ""));
+        if (!dataSource.getUrl().startsWith("jdbc:h2:")) {
+            dataSource.setDriver("com.mysql.cj.jdbc.Driver");
+        }
+        Configuration configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.getVariables().setProperty("student.cache.maximum-size", "10000");
+        configuration.getVariables().setProperty("student.cache.expire-after-write-seconds", "600");
+        configuration.addMapper(StudentMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+        execute("create table if not exists student (sno varchar(20) not null, sname varchar(9) not null, ssex char(2) not null)");
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        execute("delete from student where sname = 'bench'");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        truncate();
+        dataSource.forceCloseAll();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private Student nextStudent() {
+        Student student = new Student();
+        student.setSno("b" + sequence++);
+        student.setName("bench");
+        student.setSex("M");
+        return student;
+    }
+
+    /**
+     * 当前实现：每条insert单独执行并自动提交
+     */
+    @Benchmark
+    public void single() {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.SIMPLE, true)) {
+            StudentMapper mapper = session.getMapper(StudentMapper.class);
+            for (int i = 0; i < ROWS; i++) {
+                mapper.add(nextStudent());
+            }
+        }
+    }
+
+    /**
+     * 批量导入：BATCH执行器每batchSize条flush一次，最后统一提交
+     */
+    @Benchmark
+    public void batch() {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            StudentMapper mapper = session.getMapper(StudentMapper.class);
+            for (int i = 0; i < ROWS; i++) {
+                mapper.add(nextStudent());
+                if ((i + 1) % batchSize == 0) {
+                    session.flushStatements();
+                }
+            }
+            session.flushStatements();
+            session.commit();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StudentBatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,13 +1,25 @@
 package com.springboot.controller;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.springboot.bean.Student;
 import com.springboot.service.StudentService;
 
@@ -22,6 +34,9 @@ public class TestController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * 根据学号查询学生详细信息
      * @param sno 学生学号（唯一标识）
@@ -68,4 +83,80 @@ public class TestController {
     public int deleteStudentBySno(String sno) {
         return this.studentService.deleteBysno(sno);
     }
+
+    /**
+     * 批量新增学生记录
+     * @param students 学生列表（JSON数组）
+     * @return int 受影响的行数
+     */
+    @RequestMapping(value = "/addstudents", method = RequestMethod.POST)
+    public int saveStudents(@RequestBody List<Student> students) {
+        return this.studentService.addAll(students);
+    }
+
+    /**
+     * 批量修改学生记录
+     * @param students 学生列表（JSON数组），按学号匹配
+     * @return int 受影响的行数
+     */
+    @RequestMapping(value = "/updatestudents", method = RequestMethod.POST)
+    public int updateStudents(@RequestBody List<Student> students) {
+        return this.studentService.updateAll(students);
+    }
+
+    /**
+     * 批量删除学生记录
+     * @param snos 学号列表（JSON数组）
+     * @return int 受影响的行数
+     */
+    @RequestMapping(value = "/deletestudents", method = RequestMethod.POST)
+    public int deleteStudents(@RequestBody List<String> snos) {
+        return this.studentService.deleteAll(snos);
+    }
+
+    /**
+     * 流式导出所有学生信息，边查询边写出，内存占用与数据量无关
+     * @param format 导出格式，csv 或 ndjson（每行一个JSON对象）
+     * @return 流式响应体
+     */
+    @RequestMapping(value = "/exportstudents", method = RequestMethod.GET)
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // Stream持有数据库连接，必须在写完后关闭
+            try (Stream<Student> students = this.studentService.streamStudents()) {
+                if (csv) {
+                    writer.write("sno,name,sex\n");
+                    for (Student student : (Iterable<Student>) students::iterator) {
+                        writer.write(csvValue(student.getSno()) + "," + csvValue(student.getName()) + ","
+                                + csvValue(student.getSex()) + "\n");
+                    }
+                } else {
+                    for (Student student : (Iterable<Student>) students::iterator) {
+                        writer.write(this.objectMapper.writeValueAsString(student));
+                        writer.write('\n');
+                    }
+                }
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=students." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+
+    /**
+     * CSV字段转义：包含逗号、引号或换行时用引号包裹
+     */
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
 }
@@ -2,6 +2,9 @@ package com.springboot.dao;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 import com.springboot.bean.Student;
 
@@ -11,4 +14,9 @@ public interface StudentDao {
     int deleteBysno(String sno);
     List<Map<String,Object>> queryStudentsListMap();
     Student queryStudentBySno(String sno);
+    int addAll(List<Student> students);
+    int updateAll(List<Student> students);
+    int deleteAll(List<String> snos);
+    void queryStudents(RowCallbackHandler rch);
+    Stream<Student> streamStudents();
 }
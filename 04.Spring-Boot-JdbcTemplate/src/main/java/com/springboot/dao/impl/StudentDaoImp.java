@@ -1,18 +1,25 @@
 package com.springboot.dao.impl;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import com.springboot.bean.Student;
 import com.springboot.dao.StudentDao;
 import com.springboot.mapper.StudentMapper;
+import com.springboot.util.BeanAccessorSqlParameterSource;
 
 @Repository("studentDao")
 public class StudentDaoImp implements StudentDao {
@@ -20,6 +27,21 @@ public class StudentDaoImp implements StudentDao {
 	@Autowired
 	private JdbcTemplate jdbcTemplate;
 
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	/**
+	 * 批量操作时每批提交的语句数
+	 */
+	@Value("${student.batch-size:500}")
+	private int batchSize;
+
+	/**
+	 * 流式查询时每次从数据库获取的行数，需配合连接参数useCursorFetch=true
+	 */
+	@Value("${student.fetch-size:1000}")
+	private int fetchSize;
+
 	@Override
 	public int add(Student student) {
 		// String sql = "insert into student(sno,sname,ssex) values(?,?,?)";
@@ -27,8 +49,7 @@ public class StudentDaoImp implements StudentDao {
 		// int[] argTypes = { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR };
 		// return this.jdbcTemplate.update(sql, args, argTypes);
 		String sql = "insert into student(sno,sname,ssex) values(:sno,:name,:sex)";
-		NamedParameterJdbcTemplate npjt = new NamedParameterJdbcTemplate(this.jdbcTemplate.getDataSource());
-		return npjt.update(sql, new BeanPropertySqlParameterSource(student));
+		return this.namedParameterJdbcTemplate.update(sql, new BeanAccessorSqlParameterSource(student));
 	}
 
 	@Override
@@ -66,4 +87,66 @@ public class StudentDaoImp implements StudentDao {
 		}
 	}
 
+	@Override
+	public int addAll(List<Student> students) {
+		String sql = "insert into student(sno,sname,ssex) values(?,?,?)";
+		return affectedRows(this.jdbcTemplate.batchUpdate(sql, students, this.batchSize, (ps, student) -> {
+			ps.setString(1, student.getSno());
+			ps.setString(2, student.getName());
+			ps.setString(3, student.getSex());
+		}));
+	}
+
+	@Override
+	public int updateAll(List<Student> students) {
+		String sql = "update student set sname = ?,ssex = ? where sno = ?";
+		return affectedRows(this.jdbcTemplate.batchUpdate(sql, students, this.batchSize, (ps, student) -> {
+			ps.setString(1, student.getName());
+			ps.setString(2, student.getSex());
+			ps.setString(3, student.getSno());
+		}));
+	}
+
+	@Override
+	public int deleteAll(List<String> snos) {
+		String sql = "delete from student where sno = ?";
+		return affectedRows(this.jdbcTemplate.batchUpdate(sql, snos, this.batchSize,
+				(ps, sno) -> ps.setString(1, sno)));
+	}
+
+	@Override
+	public void queryStudents(RowCallbackHandler rch) {
+		this.jdbcTemplate.query(streamingStatement("select * from student"), rch);
+	}
+
+	@Override
+	public Stream<Student> streamStudents() {
+		return this.jdbcTemplate.queryForStream(streamingStatement("select * from student"), new StudentMapper());
+	}
+
+	/**
+	 * 创建只读、只进的查询语句，按fetchSize分批拉取结果而不是一次性加载全部行
+	 */
+	private PreparedStatementCreator streamingStatement(String sql) {
+		return con -> {
+			PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(this.fetchSize);
+			return ps;
+		};
+	}
+
+	/**
+	 * 汇总批量操作影响的行数
+	 * 驱动改写批量语句后可能只返回SUCCESS_NO_INFO，此时按1行计
+	 */
+	private static int affectedRows(int[][] counts) {
+		int rows = 0;
+		for (int[] batch : counts) {
+			for (int count : batch) {
+				rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+			}
+		}
+		return rows;
+	}
+
 }
@@ -2,6 +2,7 @@ package com.springboot.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import com.springboot.bean.Student;
 
@@ -11,4 +12,8 @@ public interface StudentService {
     int deleteBysno(String sno);
     List<Map<String, Object>> queryStudentListMap();
     Student queryStudentBySno(String sno);
+    int addAll(List<Student> students);
+    int updateAll(List<Student> students);
+    int deleteAll(List<String> snos);
+    Stream<Student> streamStudents();
 }
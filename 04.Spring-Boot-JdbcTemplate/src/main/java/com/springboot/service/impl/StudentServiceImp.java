@@ -2,6 +2,7 @@ package com.springboot.service.impl;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -42,4 +43,24 @@ public class StudentServiceImp implements StudentService {
 		return this.studentDao.queryStudentBySno(sno);
 	}
 
+	@Override
+	public int addAll(List<Student> students) {
+		return this.studentDao.addAll(students);
+	}
+
+	@Override
+	public int updateAll(List<Student> students) {
+		return this.studentDao.updateAll(students);
+	}
+
+	@Override
+	public int deleteAll(List<String> snos) {
+		return this.studentDao.deleteAll(snos);
+	}
+
+	@Override
+	public Stream<Student> streamStudents() {
+		return this.studentDao.streamStudents();
+	}
+
 }
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.springboot.fanout.FanOutResult;
 import com.springboot.service.StudentService;
 
 @RestController
@@ -24,4 +25,9 @@ public class StudentController {
 	public List<Map<String, Object>> queryStudentsFromMysql(){
 		return this.studentService.getAllStudentsFromMysql();
 	}
+	
+	@RequestMapping("querystudents")
+	public FanOutResult<Map<String, Object>> queryStudents(){
+		return this.studentService.getAllStudents();
+	}
 }
@@ -0,0 +1,193 @@
+package com.springboot.datasource;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.filter.FilterEventAdapter;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidPooledConnection;
+import com.alibaba.druid.proxy.jdbc.ResultSetProxy;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Druid连接池指标
+ * 作为Druid的Filter挂到连接池上，记录获取连接的等待时间和语句执行时间，
+ * 同时为每个连接池注册活跃连接数、空闲连接数、等待线程数等Micrometer指标，标签pool为连接池名称
+ */
+@Component
+public class DruidPoolMetrics extends FilterEventAdapter {
+
+	private static final String START_NANO = DruidPoolMetrics.class.getName() + ".start";
+
+	private final MeterRegistry registry;
+	private final Map<String, PoolMeters> pools = new ConcurrentHashMap<>();
+
+	public DruidPoolMetrics(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * 监控连接池，需要在连接池复制（如从库）之前调用，复制出的连接池会带上本Filter
+	 *
+	 * @param dataSource 连接池，名称作为指标的pool标签
+	 */
+	public void monitor(DruidDataSource dataSource) {
+		if (!dataSource.getProxyFilters().contains(this)) {
+			dataSource.getProxyFilters().add(this);
+		}
+		pools.computeIfAbsent(dataSource.getName(), name -> new PoolMeters(name, dataSource));
+	}
+
+	/**
+	 * 各连接池的当前状态以及获取连接、执行语句的耗时分布，时间单位为毫秒
+	 */
+	public Map<String, Object> snapshot() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		pools.values().stream()
+				.sorted((a, b) -> a.name.compareTo(b.name))
+				.forEach(meters -> result.put(meters.name, meters.snapshot()));
+		return result;
+	}
+
+	@Override
+	public DruidPooledConnection dataSource_getConnection(FilterChain chain, DruidDataSource dataSource,
+			long maxWaitMillis) throws SQLException {
+		long start = System.nanoTime();
+		try {
+			return super.dataSource_getConnection(chain, dataSource, maxWaitMillis);
+		} finally {
+			PoolMeters meters = pools.get(dataSource.getName());
+			if (meters != null) {
+				meters.acquire.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	@Override
+	protected void statementExecuteBefore(StatementProxy statement, String sql) {
+		start(statement);
+	}
+
+	@Override
+	protected void statementExecuteAfter(StatementProxy statement, String sql, boolean result) {
+		stop(statement);
+	}
+
+	@Override
+	protected void statementExecuteQueryBefore(StatementProxy statement, String sql) {
+		start(statement);
+	}
+
+	@Override
+	protected void statementExecuteQueryAfter(StatementProxy statement, String sql, ResultSetProxy resultSet) {
+		stop(statement);
+	}
+
+	@Override
+	protected void statementExecuteUpdateBefore(StatementProxy statement, String sql) {
+		start(statement);
+	}
+
+	@Override
+	protected void statementExecuteUpdateAfter(StatementProxy statement, String sql, int updateCount) {
+		stop(statement);
+	}
+
+	@Override
+	protected void statementExecuteBatchBefore(StatementProxy statement) {
+		start(statement);
+	}
+
+	@Override
+	protected void statementExecuteBatchAfter(StatementProxy statement, int[] result) {
+		stop(statement);
+	}
+
+	@Override
+	protected void statement_executeErrorAfter(StatementProxy statement, String sql, Throwable error) {
+		stop(statement);
+	}
+
+	private void start(StatementProxy statement) {
+		statement.putAttribute(START_NANO, System.nanoTime());
+	}
+
+	private void stop(StatementProxy statement) {
+		Object start = statement.getAttribute(START_NANO);
+		if (start == null) {
+			return;
+		}
+		statement.getAttributes().remove(START_NANO);
+		PoolMeters meters = pools.get(statement.getConnectionProxy().getDirectDataSource().getName());
+		if (meters != null) {
+			meters.execute.record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private final class PoolMeters {
+
+		private final String name;
+		private final DruidDataSource dataSource;
+		private final Timer acquire;
+		private final Timer execute;
+
+		PoolMeters(String name, DruidDataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+			Gauge.builder("druid.pool.connections.active", dataSource, DruidDataSource::getActiveCount)
+					.description("正在使用的连接数").tag("pool", name).register(registry);
+			Gauge.builder("druid.pool.connections.idle", dataSource, DruidDataSource::getPoolingCount)
+					.description("池中空闲的连接数").tag("pool", name).register(registry);
+			Gauge.builder("druid.pool.connections.max", dataSource, DruidDataSource::getMaxActive)
+					.description("最大连接数").tag("pool", name).register(registry);
+			Gauge.builder("druid.pool.connections.pending", dataSource, DruidDataSource::getWaitThreadCount)
+					.description("等待获取连接的线程数").tag("pool", name).register(registry);
+			this.acquire = Timer.builder("druid.pool.connections.acquire")
+					.description("获取连接的等待时间").tag("pool", name)
+					.publishPercentiles(0.5, 0.95, 0.99).publishPercentileHistogram()
+					.register(registry);
+			this.execute = Timer.builder("druid.pool.statements.execution")
+					.description("语句执行时间").tag("pool", name)
+					.publishPercentiles(0.5, 0.95, 0.99).publishPercentileHistogram()
+					.register(registry);
+		}
+
+		Map<String, Object> snapshot() {
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("active", dataSource.getActiveCount());
+			result.put("idle", dataSource.getPoolingCount());
+			result.put("max", dataSource.getMaxActive());
+			result.put("pending", dataSource.getWaitThreadCount());
+			result.put("pendingPeak", dataSource.getNotEmptyWaitThreadPeak());
+			// 池中没有空闲连接而需要等待的累计次数
+			result.put("emptyWaitCount", dataSource.getNotEmptyWaitCount());
+			result.put("acquire", timing(acquire));
+			result.put("execution", timing(execute));
+			return result;
+		}
+
+		private Map<String, Object> timing(Timer timer) {
+			HistogramSnapshot snapshot = timer.takeSnapshot();
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("count", snapshot.count());
+			result.put("mean", snapshot.mean(TimeUnit.MILLISECONDS));
+			for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+				result.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+			}
+			result.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+			return result;
+		}
+	}
+}
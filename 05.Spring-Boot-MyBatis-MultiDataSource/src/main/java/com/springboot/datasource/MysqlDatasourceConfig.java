@@ -10,8 +10,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
+import com.alibaba.druid.pool.DruidDataSource;
 import com.alibaba.druid.spring.boot.autoconfigure.DruidDataSourceBuilder;
+import com.springboot.fanout.QueryTimeoutInterceptor;
 
 import javax.sql.DataSource;
 
@@ -24,25 +27,51 @@ public class MysqlDatasourceConfig {
 	// mybatis mapper扫描路径
 	static final String MAPPER_LOCATION = "classpath:mapper/mysql/*.xml";
 
+	@Bean(name = "mysqlMasterDataSource")
+	@ConfigurationProperties("spring.datasource.druid.mysql")
+	public DruidDataSource mysqlMasterDataSource(DruidPoolMetrics poolMetrics) {
+		DruidDataSource dataSource = DruidDataSourceBuilder.create().build();
+		dataSource.setName("mysql");
+		poolMetrics.monitor(dataSource);
+		return dataSource;
+	}
+
+	@Bean(name = "mysqlReplicaProperties")
+	@ConfigurationProperties("spring.datasource.druid.mysql")
+	public ReplicaProperties mysqlReplicaProperties() {
+		return new ReplicaProperties();
+	}
+
+	@Bean(name = "mysqlRoutingDataSource")
+	public ReadWriteRoutingDataSource mysqlRoutingDataSource(
+			@Qualifier("mysqlMasterDataSource") DruidDataSource master,
+			@Qualifier("mysqlReplicaProperties") ReplicaProperties replicaProperties,
+			DruidPoolMetrics poolMetrics) {
+		ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(master, replicaProperties);
+		routingDataSource.getReplicas().forEach(poolMetrics::monitor);
+		return routingDataSource;
+	}
+
+	// 延迟到执行第一条语句时才获取连接，确保事务内走主库
 	@Primary
 	@Bean(name = "mysqldatasource")
-	@ConfigurationProperties("spring.datasource.druid.mysql")
-	public DataSource mysqlDataSource() {
-		return DruidDataSourceBuilder.create().build();
+	public DataSource mysqlDataSource(@Qualifier("mysqlRoutingDataSource") DataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
 	}
 
 	@Bean(name = "mysqlTransactionManager")
 	@Primary
-	public DataSourceTransactionManager mysqlTransactionManager() {
-		return new DataSourceTransactionManager(mysqlDataSource());
+	public DataSourceTransactionManager mysqlTransactionManager(@Qualifier("mysqldatasource") DataSource dataSource) {
+		return new DataSourceTransactionManager(dataSource);
 	}
 
 	@Bean(name = "mysqlSqlSessionFactory")
 	@Primary
-	public SqlSessionFactory mysqlSqlSessionFactory(@Qualifier("mysqldatasource") DataSource dataSource)
-			throws Exception {
+	public SqlSessionFactory mysqlSqlSessionFactory(@Qualifier("mysqldatasource") DataSource dataSource,
+			QueryTimeoutInterceptor queryTimeoutInterceptor) throws Exception {
 		final SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
 		sessionFactory.setDataSource(dataSource);
+		sessionFactory.setPlugins(queryTimeoutInterceptor);
 		//如果不使用xml的方式配置mapper，则可以省去下面这行mapper location的配置。
 		sessionFactory.setMapperLocations(
 				new PathMatchingResourcePatternResolver().getResources(MysqlDatasourceConfig.MAPPER_LOCATION));
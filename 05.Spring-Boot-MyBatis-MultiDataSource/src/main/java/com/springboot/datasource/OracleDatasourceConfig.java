@@ -1,7 +1,5 @@
 package com.springboot.datasource;
 
-import jakarta.sql.DataSource;
-
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
@@ -11,8 +9,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
+import com.alibaba.druid.pool.DruidDataSource;
 import com.alibaba.druid.spring.boot.autoconfigure.DruidDataSourceBuilder;
+import com.springboot.fanout.QueryTimeoutInterceptor;
+
+import javax.sql.DataSource;
 
 @Configuration
 @MapperScan(basePackages = OracleDatasourceConfig.PACKAGE, 
@@ -24,21 +27,48 @@ public class OracleDatasourceConfig {
 	// mybatis mapper扫描路径
 	static final String MAPPER_LOCATION = "classpath:mapper/oracle/*.xml";
 	
-	@Bean(name = "oracledatasource")
+	@Bean(name = "oracleMasterDataSource")
+	@ConfigurationProperties("spring.datasource.druid.oracle")
+	public DruidDataSource oracleMasterDataSource(DruidPoolMetrics poolMetrics) {
+		DruidDataSource dataSource = DruidDataSourceBuilder.create().build();
+		dataSource.setName("oracle");
+		poolMetrics.monitor(dataSource);
+		return dataSource;
+	}
+
+	@Bean(name = "oracleReplicaProperties")
 	@ConfigurationProperties("spring.datasource.druid.oracle")
-	public DataSource oracleDataSource() {
-		return DruidDataSourceBuilder.create().build();
+	public ReplicaProperties oracleReplicaProperties() {
+		return new ReplicaProperties();
+	}
+
+	@Bean(name = "oracleRoutingDataSource")
+	public ReadWriteRoutingDataSource oracleRoutingDataSource(
+			@Qualifier("oracleMasterDataSource") DruidDataSource master,
+			@Qualifier("oracleReplicaProperties") ReplicaProperties replicaProperties,
+			DruidPoolMetrics poolMetrics) {
+		ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(master, replicaProperties);
+		routingDataSource.getReplicas().forEach(poolMetrics::monitor);
+		return routingDataSource;
+	}
+
+	// 延迟到执行第一条语句时才获取连接，确保事务内走主库
+	@Bean(name = "oracledatasource")
+	public DataSource oracleDataSource(@Qualifier("oracleRoutingDataSource") DataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
 	}
 	
 	@Bean(name = "oracleTransactionManager")
-    public DataSourceTransactionManager oracleTransactionManager() {
-        return new DataSourceTransactionManager(oracleDataSource());
+    public DataSourceTransactionManager oracleTransactionManager(@Qualifier("oracledatasource") DataSource dataSource) {
+        return new DataSourceTransactionManager(dataSource);
     }
  
     @Bean(name = "oracleSqlSessionFactory")
-    public SqlSessionFactory oracleSqlSessionFactory(@Qualifier("oracledatasource") DataSource dataSource) throws Exception {
+    public SqlSessionFactory oracleSqlSessionFactory(@Qualifier("oracledatasource") DataSource dataSource,
+            QueryTimeoutInterceptor queryTimeoutInterceptor) throws Exception {
         final SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
         sessionFactory.setDataSource(dataSource);
+        sessionFactory.setPlugins(queryTimeoutInterceptor);
         //如果不使用xml的方式配置mapper，则可以省去下面这行mapper location的配置。
         sessionFactory.setMapperLocations(new PathMatchingResourcePatternResolver()
                 .getResources(OracleDatasourceConfig.MAPPER_LOCATION));
@@ -0,0 +1,29 @@
+package com.springboot.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 处理@ReadOnly注解，在方法执行期间把当前线程标记为只读
+ */
+@Aspect
+@Component
+public class ReadOnlyAspect {
+
+	@Around("@annotation(com.springboot.annotation.ReadOnly) || @within(com.springboot.annotation.ReadOnly)")
+	public Object around(ProceedingJoinPoint point) throws Throwable {
+		// 事务中的查询需要看到本事务的写入，不切换到从库
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return point.proceed();
+		}
+		ReadOnlyContext.enter();
+		try {
+			return point.proceed();
+		} finally {
+			ReadOnlyContext.exit();
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.springboot.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 从库配置，连接池参数沿用主库，只需配置连接信息
+ */
+public class ReplicaProperties {
+
+	private List<Replica> replicas = new ArrayList<>();
+
+	public List<Replica> getReplicas() {
+		return replicas;
+	}
+
+	public void setReplicas(List<Replica> replicas) {
+		this.replicas = replicas;
+	}
+
+	public static class Replica {
+		private String url;
+		private String username;
+		private String password;
+
+		public String getUrl() {
+			return url;
+		}
+
+		public void setUrl(String url) {
+			this.url = url;
+		}
+
+		public String getUsername() {
+			return username;
+		}
+
+		public void setUsername(String username) {
+			this.username = username;
+		}
+
+		public String getPassword() {
+			return password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+	}
+}
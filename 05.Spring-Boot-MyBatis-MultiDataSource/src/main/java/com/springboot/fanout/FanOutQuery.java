@@ -0,0 +1,122 @@
+package com.springboot.fanout;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * 多数据源并发查询
+ * 每个数据源的查询在独立的虚拟线程中执行，总耗时约等于最慢的数据源，
+ * 超过各自超时时间的数据源被取消，其余结果照常合并返回并标记为部分结果。
+ * 查询线程中设置了截止时间，通过QueryTimeoutInterceptor转换为语句的查询超时，超时的查询在数据库端同样会被取消
+ */
+@Component
+public class FanOutQuery implements DisposableBean {
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	/**
+	 * 创建一次并发查询
+	 *
+	 * @param keyExtractor 去重键，多个数据源返回相同键的行只保留先注册数据源的那一行
+	 */
+	public <T> Builder<T> of(Function<T, Object> keyExtractor) {
+		return new Builder<>(keyExtractor);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	public class Builder<T> {
+
+		private final Function<T, Object> keyExtractor;
+		private final Map<String, Supplier<List<T>>> queries = new LinkedHashMap<>();
+		private final Map<String, Long> timeouts = new LinkedHashMap<>();
+
+		private Builder(Function<T, Object> keyExtractor) {
+			this.keyExtractor = keyExtractor;
+		}
+
+		/**
+		 * 添加一个数据源的查询
+		 *
+		 * @param name 数据源名称
+		 * @param timeout 超时时间（毫秒）
+		 * @param query 查询逻辑
+		 */
+		public Builder<T> source(String name, long timeout, Supplier<List<T>> query) {
+			queries.put(name, query);
+			timeouts.put(name, timeout);
+			return this;
+		}
+
+		public FanOutResult<T> execute() {
+			long start = System.nanoTime();
+			Map<String, Future<List<T>>> futures = new LinkedHashMap<>();
+			queries.forEach((name, query) -> {
+				long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeouts.get(name));
+				futures.put(name, executor.submit(() -> QueryDeadline.call(deadline, query)));
+			});
+
+			Map<String, List<T>> results = new LinkedHashMap<>();
+			Map<String, SourceStatus> sources = new LinkedHashMap<>();
+			boolean partial = false;
+			for (Map.Entry<String, Future<List<T>>> entry : futures.entrySet()) {
+				String name = entry.getKey();
+				Future<List<T>> future = entry.getValue();
+				// 所有查询同时开始，每个数据源的截止时间都从开始时刻算起
+				long remaining = TimeUnit.MILLISECONDS.toNanos(timeouts.get(name)) - (System.nanoTime() - start);
+				try {
+					List<T> rows = future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+					results.put(name, rows);
+					sources.put(name, new SourceStatus(SourceStatus.State.OK, elapsed(start), rows == null ? 0 : rows.size(), null));
+				} catch (TimeoutException e) {
+					future.cancel(true);
+					partial = true;
+					sources.put(name, new SourceStatus(SourceStatus.State.TIMEOUT, elapsed(start), 0, null));
+				} catch (ExecutionException e) {
+					partial = true;
+					sources.put(name, new SourceStatus(SourceStatus.State.FAILED, elapsed(start), 0, String.valueOf(e.getCause())));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					futures.values().forEach(f -> f.cancel(true));
+					throw new IllegalStateException("并发查询被中断", e);
+				}
+			}
+			return new FanOutResult<>(merge(results), partial, sources);
+		}
+
+		private List<T> merge(Map<String, List<T>> results) {
+			Map<Object, T> merged = new LinkedHashMap<>();
+			for (List<T> rows : results.values()) {
+				if (rows == null) {
+					continue;
+				}
+				for (T row : rows) {
+					Object key = keyExtractor.apply(row);
+					// 没有去重键的行全部保留
+					merged.putIfAbsent(key != null ? key : new Object(), row);
+				}
+			}
+			return new ArrayList<>(merged.values());
+		}
+
+		private long elapsed(long start) {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.springboot.fanout;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 并发查询多个数据源的合并结果
+ */
+public class FanOutResult<T> {
+
+	private List<T> rows;
+	private boolean partial;
+	private Map<String, SourceStatus> sources;
+
+	public FanOutResult(List<T> rows, boolean partial, Map<String, SourceStatus> sources) {
+		this.rows = rows;
+		this.partial = partial;
+		this.sources = sources;
+	}
+
+	/**
+	 * 合并去重后的结果
+	 */
+	public List<T> getRows() {
+		return rows;
+	}
+
+	/**
+	 * 是否有数据源超时或失败，为true时rows只包含部分数据源的结果
+	 */
+	public boolean isPartial() {
+		return partial;
+	}
+
+	/**
+	 * 各数据源的执行情况
+	 */
+	public Map<String, SourceStatus> getSources() {
+		return sources;
+	}
+}
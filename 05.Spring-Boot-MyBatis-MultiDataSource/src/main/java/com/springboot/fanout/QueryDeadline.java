@@ -0,0 +1,48 @@
+package com.springboot.fanout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 当前线程中数据库查询的截止时间
+ * FanOutQuery在各数据源的查询线程中设置，QueryTimeoutInterceptor据此设置语句的查询超时。
+ * 取消Future只能中断线程，阻塞在JDBC调用中的查询不会因此停止，需要由驱动在超时后取消数据库端的执行
+ */
+public final class QueryDeadline {
+
+	private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+	private QueryDeadline() {
+	}
+
+	/**
+	 * 在截止时间内执行查询
+	 *
+	 * @param deadlineNanos 截止时刻，System.nanoTime()的值
+	 */
+	public static <T> T call(long deadlineNanos, Supplier<T> query) {
+		Long previous = DEADLINE.get();
+		DEADLINE.set(deadlineNanos);
+		try {
+			return query.get();
+		} finally {
+			if (previous == null) {
+				DEADLINE.remove();
+			} else {
+				DEADLINE.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * 距截止时间的秒数，向上取整且至少为1；没有截止时间返回0
+	 */
+	public static int remainingSeconds() {
+		Long deadline = DEADLINE.get();
+		if (deadline == null) {
+			return 0;
+		}
+		long remaining = deadline - System.nanoTime();
+		return (int) Math.max(1, (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+	}
+}
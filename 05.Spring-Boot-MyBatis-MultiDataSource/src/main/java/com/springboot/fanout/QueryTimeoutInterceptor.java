@@ -0,0 +1,32 @@
+package com.springboot.fanout;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按QueryDeadline设置语句的查询超时，语句本身已配置更短的超时时保持不变
+ */
+@Component
+@Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+public class QueryTimeoutInterceptor implements Interceptor {
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Statement statement = (Statement) invocation.proceed();
+		int remaining = QueryDeadline.remainingSeconds();
+		if (remaining > 0) {
+			int timeout = statement.getQueryTimeout();
+			if (timeout == 0 || remaining < timeout) {
+				statement.setQueryTimeout(remaining);
+			}
+		}
+		return statement;
+	}
+}
@@ -0,0 +1,56 @@
+package com.springboot.fanout;
+
+/**
+ * 单个数据源在一次并发查询中的执行情况
+ */
+public class SourceStatus {
+
+	public enum State {
+		/**
+		 * 在超时时间内返回
+		 */
+		OK,
+		/**
+		 * 超时，结果未合并
+		 */
+		TIMEOUT,
+		/**
+		 * 查询抛出异常
+		 */
+		FAILED
+	}
+
+	private State state;
+	private long elapsed;
+	private int count;
+	private String error;
+
+	public SourceStatus(State state, long elapsed, int count, String error) {
+		this.state = state;
+		this.elapsed = elapsed;
+		this.count = count;
+		this.error = error;
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * 耗时（毫秒），超时的数据源为等待的时间
+	 */
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	/**
+	 * 返回的行数
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	public String getError() {
+		return error;
+	}
+}
@@ -3,7 +3,10 @@ package com.springboot.service;
 import java.util.List;
 import java.util.Map;
 
+import com.springboot.fanout.FanOutResult;
+
 public interface StudentService {
 	List<Map<String, Object>> getAllStudentsFromOralce();
 	List<Map<String, Object>> getAllStudentsFromMysql();
+	FanOutResult<Map<String, Object>> getAllStudents();
 }
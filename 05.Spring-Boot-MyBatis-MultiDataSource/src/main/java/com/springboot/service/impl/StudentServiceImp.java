@@ -1,11 +1,18 @@
 package com.springboot.service.impl;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.springboot.annotation.ReadOnly;
+import com.springboot.datasource.ReadOnlyContext;
+import com.springboot.fanout.FanOutQuery;
+import com.springboot.fanout.FanOutResult;
 import com.springboot.mysqldao.MysqlStudentMapper;
 import com.springboot.oracledao.OracleStudentMapper;
 import com.springboot.service.StudentService;
@@ -16,15 +23,48 @@ public class StudentServiceImp implements StudentService{
 	private OracleStudentMapper oracleStudentMapper;
 	@Autowired
 	private MysqlStudentMapper mysqlStudentMapper;
+	@Autowired
+	private FanOutQuery fanOutQuery;
+
+	// 各数据源查询超时时间（毫秒）
+	@Value("${student.fanout.mysql-timeout:3000}")
+	private long mysqlTimeout;
+	@Value("${student.fanout.oracle-timeout:3000}")
+	private long oracleTimeout;
 	
+	@ReadOnly
 	@Override
 	public List<Map<String, Object>> getAllStudentsFromOralce() {
 		return this.oracleStudentMapper.getAllStudents();
 	}
 
+	@ReadOnly
 	@Override
 	public List<Map<String, Object>> getAllStudentsFromMysql() {
 		return this.mysqlStudentMapper.getAllStudents();
 	}
 
+	/**
+	 * 同时查询mysql和oracle，按学号去重，mysql中的记录优先
+	 * 查询在其他线程中执行，@ReadOnly的线程状态不会传递，因此显式以只读方式执行；
+	 * oracle返回的列名为大写，mysql与建表语句一致，合并前统一转为小写
+	 */
+	@Override
+	public FanOutResult<Map<String, Object>> getAllStudents() {
+		return this.fanOutQuery.<Map<String, Object>>of(row -> row.get("sno"))
+				.source("mysql", this.mysqlTimeout,
+						() -> lowerCaseKeys(ReadOnlyContext.read(this.mysqlStudentMapper::getAllStudents)))
+				.source("oracle", this.oracleTimeout,
+						() -> lowerCaseKeys(ReadOnlyContext.read(this.oracleStudentMapper::getAllStudents)))
+				.execute();
+	}
+
+	private static List<Map<String, Object>> lowerCaseKeys(List<Map<String, Object>> rows) {
+		return rows.stream().map(row -> {
+			Map<String, Object> normalized = new LinkedHashMap<>();
+			row.forEach((column, value) -> normalized.put(column.toLowerCase(Locale.ROOT), value));
+			return normalized;
+		}).toList();
+	}
+
 }
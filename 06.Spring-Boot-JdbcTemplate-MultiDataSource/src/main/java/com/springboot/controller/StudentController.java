@@ -5,8 +5,10 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.springboot.copy.StudentCopyService;
 import com.springboot.service.StudentService;
 
 @RestController
@@ -15,6 +17,9 @@ public class StudentController {
 	@Autowired
 	private StudentService studentService;
 	
+	@Autowired
+	private StudentCopyService studentCopyService;
+	
 	@RequestMapping("querystudentsfromoracle")
 	public List<Map<String, Object>> queryStudentsFromOracle(){
 		return this.studentService.getAllStudentsFromOralce();
@@ -24,4 +29,15 @@ public class StudentController {
 	public List<Map<String, Object>> queryStudentsFromMysql(){
 		return this.studentService.getAllStudentsFromMysql();
 	}
+	
+	/**
+	 * 跨库复制student表，jobId必填，中断后用相同jobId重新调用即可从检查点继续
+	 */
+	@RequestMapping("copystudents")
+	public Map<String, Object> copyStudents(@RequestParam String jobId,
+			@RequestParam(defaultValue = "oracle") String from,
+			@RequestParam(defaultValue = "mysql") String to,
+			@RequestParam(defaultValue = "4") int partitions){
+		return this.studentCopyService.copy(jobId, from, to, partitions);
+	}
 }
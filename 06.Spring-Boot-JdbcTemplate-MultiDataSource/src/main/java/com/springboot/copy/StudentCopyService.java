@@ -0,0 +1,286 @@
+package com.springboot.copy;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 在mysql和oracle之间复制student表
+ * 按学号把源表切分为多个区间并行复制，每个区间一个读线程、一个写线程，通过有界队列连接：
+ * 读线程以较大的fetchSize流式读取源表，写线程按批写入目标表，
+ * 每批数据和该区间的检查点在同一个事务中提交，中断后以相同jobId重新执行即可从检查点继续。
+ * 目标表中已存在的学号跳过不写入，目标库原有的数据或之前复制过的数据不会导致任务失败
+ */
+@Service
+public class StudentCopyService {
+
+	private static final String SELECT = "select sno, sname, ssex, datasource from student";
+	/**
+	 * mysql和oracle都支持的写法，学号已存在时不插入
+	 */
+	private static final String INSERT = "insert into student(sno, sname, ssex, datasource)"
+			+ " select ?, ?, ?, ? from dual where not exists (select 1 from student where sno = ?)";
+
+	/**
+	 * 读线程结束的标记
+	 */
+	private static final List<Object[]> END = Collections.emptyList();
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	@Qualifier("mysqlJdbcTemplate")
+	private JdbcTemplate mysqlJdbcTemplate;
+
+	@Autowired
+	@Qualifier("oracleJdbcTemplate")
+	private JdbcTemplate oracleJdbcTemplate;
+
+	@Value("${student.copy.fetch-size:5000}")
+	private int fetchSize;
+
+	@Value("${student.copy.batch-size:1000}")
+	private int batchSize;
+
+	/**
+	 * 读写线程之间最多缓存的批数，读线程超前时阻塞等待
+	 */
+	@Value("${student.copy.buffer-batches:8}")
+	private int bufferBatches;
+
+	/**
+	 * 复制student表
+	 *
+	 * @param jobId 任务标识，相同jobId重复执行时从检查点继续
+	 * @param from 源库，mysql或oracle
+	 * @param to 目标库，mysql或oracle
+	 * @param partitions 并行的区间数，仅在首次执行时生效
+	 * @return 每个区间本次复制的行数
+	 */
+	public Map<String, Object> copy(String jobId, String from, String to, int partitions) {
+		JdbcTemplate source = jdbcTemplate(from);
+		JdbcTemplate target = jdbcTemplate(to);
+		if (source == target) {
+			throw new IllegalArgumentException("源库和目标库不能相同");
+		}
+		TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(target.getDataSource()));
+		List<Checkpoint> checkpoints = loadOrCreateCheckpoints(jobId, source, target, tx, Math.max(partitions, 1));
+
+		long start = System.currentTimeMillis();
+		Map<String, Object> result = new LinkedHashMap<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Map<Integer, Future<Long>> futures = new LinkedHashMap<>();
+			for (Checkpoint checkpoint : checkpoints) {
+				if (!checkpoint.finished) {
+					futures.put(checkpoint.partition, executor.submit(() -> copyPartition(jobId, checkpoint, source, target, tx, executor)));
+				}
+			}
+			for (Map.Entry<Integer, Future<Long>> entry : futures.entrySet()) {
+				result.put("partition-" + entry.getKey(), entry.getValue().get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("复制任务被中断，可用相同jobId重新执行", e);
+		} catch (Exception e) {
+			throw new IllegalStateException("复制任务失败，可用相同jobId重新执行: " + e.getMessage(), e);
+		}
+		result.put("elapsed", System.currentTimeMillis() - start);
+		return result;
+	}
+
+	private JdbcTemplate jdbcTemplate(String name) {
+		if ("mysql".equalsIgnoreCase(name)) {
+			return mysqlJdbcTemplate;
+		}
+		if ("oracle".equalsIgnoreCase(name)) {
+			return oracleJdbcTemplate;
+		}
+		throw new IllegalArgumentException("未知的数据源: " + name);
+	}
+
+	/**
+	 * 复制一个区间，当前线程负责写入，另起一个线程负责读取
+	 *
+	 * @return 本次复制的行数
+	 */
+	private long copyPartition(String jobId, Checkpoint checkpoint, JdbcTemplate source, JdbcTemplate target,
+			TransactionTemplate tx, ExecutorService executor) throws Exception {
+		BlockingQueue<List<Object[]>> buffer = new ArrayBlockingQueue<>(bufferBatches);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Future<?> reader = executor.submit(() -> {
+			try {
+				read(checkpoint, source, buffer, failure);
+			} catch (Throwable e) {
+				failure.compareAndSet(null, e);
+			}
+			try {
+				put(buffer, END, failure);
+			} catch (IllegalStateException e) {
+				// 写入端已失败，不需要结束标记
+			}
+		});
+
+		long copied = 0;
+		try {
+			List<Object[]> batch;
+			while ((batch = buffer.take()) != END) {
+				String lastSno = (String) batch.get(batch.size() - 1)[0];
+				List<Object[]> rows = batch;
+				tx.executeWithoutResult(status -> {
+					target.batchUpdate(INSERT, rows);
+					saveProgress(target, jobId, checkpoint.partition, lastSno, rows.size(), false);
+				});
+				copied += rows.size();
+			}
+		} catch (Throwable e) {
+			failure.compareAndSet(null, e);
+		}
+		reader.get();
+		if (failure.get() != null) {
+			log.error("区间{}复制失败，已复制{}行", checkpoint.partition, copied, failure.get());
+			throw new IllegalStateException("区间" + checkpoint.partition + "复制失败", failure.get());
+		}
+		tx.executeWithoutResult(status -> saveProgress(target, jobId, checkpoint.partition, null, 0, true));
+		return copied;
+	}
+
+	/**
+	 * 从检查点之后流式读取区间内的数据，攒满一批放入队列
+	 */
+	private void read(Checkpoint checkpoint, JdbcTemplate source, BlockingQueue<List<Object[]>> buffer,
+			AtomicReference<Throwable> failure) {
+		String low = checkpoint.lastSno != null ? checkpoint.lastSno : checkpoint.lowSno;
+		String high = checkpoint.highSno;
+		// 只拼接存在的边界条件，便于走sno上的索引
+		List<String> args = new ArrayList<>(2);
+		StringBuilder sql = new StringBuilder(SELECT).append(" where 1 = 1");
+		if (low != null) {
+			sql.append(" and sno > ?");
+			args.add(low);
+		}
+		if (high != null) {
+			sql.append(" and sno <= ?");
+			args.add(high);
+		}
+		sql.append(" order by sno");
+		List<List<Object[]>> holder = new ArrayList<>(1);
+		holder.add(new ArrayList<>(batchSize));
+		source.query(con -> {
+			PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			ps.setFetchSize(fetchSize);
+			for (int i = 0; i < args.size(); i++) {
+				ps.setString(i + 1, args.get(i));
+			}
+			return ps;
+		}, rs -> {
+			List<Object[]> batch = holder.get(0);
+			// 最后一个参数是not exists中的学号
+			batch.add(new Object[] { rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(1) });
+			if (batch.size() >= batchSize) {
+				put(buffer, batch, failure);
+				holder.set(0, new ArrayList<>(batchSize));
+			}
+		});
+		if (!holder.get(0).isEmpty()) {
+			put(buffer, holder.get(0), failure);
+		}
+	}
+
+	/**
+	 * 放入队列，写线程失败后不再等待，避免读线程永久阻塞
+	 */
+	private static void put(BlockingQueue<List<Object[]>> buffer, List<Object[]> batch, AtomicReference<Throwable> failure) {
+		try {
+			while (!buffer.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+				if (failure.get() != null) {
+					throw new IllegalStateException("写入端已失败，停止读取");
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("读取被中断", e);
+		}
+	}
+
+	/**
+	 * 读取任务的检查点，首次执行时按学号把源表切分为partitions个区间，所有区间的检查点在一个事务中创建
+	 */
+	private List<Checkpoint> loadOrCreateCheckpoints(String jobId, JdbcTemplate source, JdbcTemplate target,
+			TransactionTemplate tx, int partitions) {
+		List<Checkpoint> checkpoints = target.query(
+				"select partition_no, low_sno, high_sno, last_sno, finished from student_copy_checkpoint"
+						+ " where job_id = ? order by partition_no",
+				(rs, rowNum) -> new Checkpoint(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getInt(5) == 1),
+				jobId);
+		if (!checkpoints.isEmpty()) {
+			return checkpoints;
+		}
+		// 每个区间的上界（含），最后一个区间不设上界
+		List<String> bounds = source.queryForList(
+				"select max(sno) from (select sno, ntile(" + partitions + ") over (order by sno) tile from student) t"
+						+ " group by tile order by 1",
+				String.class);
+		String low = null;
+		for (int i = 0; i < Math.max(bounds.size(), 1); i++) {
+			String high = i < bounds.size() - 1 ? bounds.get(i) : null;
+			checkpoints.add(new Checkpoint(i, low, high, null, false));
+			low = high;
+		}
+		tx.executeWithoutResult(status -> {
+			for (Checkpoint checkpoint : checkpoints) {
+				target.update("insert into student_copy_checkpoint(job_id, partition_no, low_sno, high_sno, copied_rows, finished)"
+						+ " values(?, ?, ?, ?, 0, 0)", jobId, checkpoint.partition, checkpoint.lowSno, checkpoint.highSno);
+			}
+		});
+		return checkpoints;
+	}
+
+	private static void saveProgress(JdbcTemplate target, String jobId, int partition, String lastSno, int rows, boolean finished) {
+		if (finished) {
+			target.update("update student_copy_checkpoint set finished = 1 where job_id = ? and partition_no = ?", jobId, partition);
+		} else {
+			target.update("update student_copy_checkpoint set last_sno = ?, copied_rows = copied_rows + ?"
+					+ " where job_id = ? and partition_no = ?", lastSno, rows, jobId, partition);
+		}
+	}
+
+	/**
+	 * 区间的检查点，区间为(lowSno, highSno]，null表示不设边界
+	 */
+	private static final class Checkpoint {
+		private final int partition;
+		private final String lowSno;
+		private final String highSno;
+		private final String lastSno;
+		private final boolean finished;
+
+		private Checkpoint(int partition, String lowSno, String highSno, String lastSno, boolean finished) {
+			this.partition = partition;
+			this.lowSno = lowSno;
+			this.highSno = highSno;
+			this.lastSno = lastSno;
+			this.finished = finished;
+		}
+	}
+}
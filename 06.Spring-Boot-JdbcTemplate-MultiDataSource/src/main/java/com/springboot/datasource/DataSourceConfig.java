@@ -1,6 +1,6 @@
 package com.springboot.datasource;
 
-import jakarta.sql.DataSource;
+import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -8,22 +8,73 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
+import com.alibaba.druid.pool.DruidDataSource;
 import com.alibaba.druid.spring.boot.autoconfigure.DruidDataSourceBuilder;
 
 @Configuration
 public class DataSourceConfig {
+	@Bean(name = "mysqlMasterDataSource")
+	@ConfigurationProperties("spring.datasource.druid.mysql")
+	public DruidDataSource mysqlMasterDataSource(DruidPoolMetrics poolMetrics){
+	    DruidDataSource dataSource = DruidDataSourceBuilder.create().build();
+	    dataSource.setName("mysql");
+	    poolMetrics.monitor(dataSource);
+	    return dataSource;
+	}
+
+	@Bean(name = "mysqlReplicaProperties")
+	@ConfigurationProperties("spring.datasource.druid.mysql")
+	public ReplicaProperties mysqlReplicaProperties(){
+	    return new ReplicaProperties();
+	}
+
+	@Bean(name = "mysqlRoutingDataSource")
+	public ReadWriteRoutingDataSource mysqlRoutingDataSource(
+	        @Qualifier("mysqlMasterDataSource") DruidDataSource master,
+	        @Qualifier("mysqlReplicaProperties") ReplicaProperties replicaProperties,
+	        DruidPoolMetrics poolMetrics){
+	    ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(master, replicaProperties);
+	    routingDataSource.getReplicas().forEach(poolMetrics::monitor);
+	    return routingDataSource;
+	}
+
+	// 延迟到执行第一条语句时才获取连接，确保事务内走主库
 	@Primary
 	@Bean(name = "mysqldatasource")
-	@ConfigurationProperties("spring.datasource.druid.mysql")
-	public DataSource dataSourceOne(){
-	    return DruidDataSourceBuilder.create().build();
+	public DataSource dataSourceOne(@Qualifier("mysqlRoutingDataSource") DataSource routingDataSource){
+	    return new LazyConnectionDataSourceProxy(routingDataSource);
 	}
-	
-	@Bean(name = "oracledatasource")
+
+	@Bean(name = "oracleMasterDataSource")
+	@ConfigurationProperties("spring.datasource.druid.oracle")
+	public DruidDataSource oracleMasterDataSource(DruidPoolMetrics poolMetrics){
+	    DruidDataSource dataSource = DruidDataSourceBuilder.create().build();
+	    dataSource.setName("oracle");
+	    poolMetrics.monitor(dataSource);
+	    return dataSource;
+	}
+
+	@Bean(name = "oracleReplicaProperties")
 	@ConfigurationProperties("spring.datasource.druid.oracle")
-	public DataSource dataSourceTwo(){
-	    return DruidDataSourceBuilder.create().build();
+	public ReplicaProperties oracleReplicaProperties(){
+	    return new ReplicaProperties();
+	}
+
+	@Bean(name = "oracleRoutingDataSource")
+	public ReadWriteRoutingDataSource oracleRoutingDataSource(
+	        @Qualifier("oracleMasterDataSource") DruidDataSource master,
+	        @Qualifier("oracleReplicaProperties") ReplicaProperties replicaProperties,
+	        DruidPoolMetrics poolMetrics){
+	    ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(master, replicaProperties);
+	    routingDataSource.getReplicas().forEach(poolMetrics::monitor);
+	    return routingDataSource;
+	}
+
+	@Bean(name = "oracledatasource")
+	public DataSource dataSourceTwo(@Qualifier("oracleRoutingDataSource") DataSource routingDataSource){
+	    return new LazyConnectionDataSourceProxy(routingDataSource);
 	}
 
 	@Bean(name = "mysqlJdbcTemplate")
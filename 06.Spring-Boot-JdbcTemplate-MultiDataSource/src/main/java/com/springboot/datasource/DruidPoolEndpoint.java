@@ -0,0 +1,24 @@
+package com.springboot.datasource;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 并排比较各Druid连接池的状态，访问路径/actuator/druidpools
+ */
+@Component
+@Endpoint(id = "druidpools")
+public class DruidPoolEndpoint {
+
+	@Autowired
+	private DruidPoolMetrics druidPoolMetrics;
+
+	@ReadOperation
+	public Map<String, Object> pools() {
+		return druidPoolMetrics.snapshot();
+	}
+}
@@ -0,0 +1,44 @@
+package com.springboot.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程是否处于只读（走从库）状态，支持嵌套
+ */
+public final class ReadOnlyContext {
+
+	private static final ThreadLocal<Integer> DEPTH = new ThreadLocal<>();
+
+	private ReadOnlyContext() {
+	}
+
+	public static boolean isReadOnly() {
+		return DEPTH.get() != null;
+	}
+
+	static void enter() {
+		Integer depth = DEPTH.get();
+		DEPTH.set(depth == null ? 1 : depth + 1);
+	}
+
+	static void exit() {
+		Integer depth = DEPTH.get();
+		if (depth == null || depth <= 1) {
+			DEPTH.remove();
+		} else {
+			DEPTH.set(depth - 1);
+		}
+	}
+
+	/**
+	 * 以只读方式执行，用于无法加@ReadOnly的场景（如提交到其他线程执行的查询）
+	 */
+	public static <T> T read(Supplier<T> query) {
+		enter();
+		try {
+			return query.get();
+		} finally {
+			exit();
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.springboot.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.alibaba.druid.pool.DruidDataSource;
+
+/**
+ * 读写分离数据源
+ * 只读状态且不在事务中的连接请求路由到活跃连接数最少的从库，其余请求全部走主库
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+	private static final String PRIMARY = "primary";
+
+	private final DruidDataSource primary;
+	private final List<DruidDataSource> replicas;
+	private final AtomicInteger offset = new AtomicInteger();
+
+	/**
+	 * 创建读写分离数据源，从库复制主库的连接池配置，只替换连接信息
+	 * 使用时外层应包装LazyConnectionDataSourceProxy，使连接在第一次执行语句时才获取，
+	 * 此时事务状态已经确定，保证事务内的连接一定来自主库
+	 *
+	 * @param primary 主库
+	 * @param properties 从库连接信息
+	 */
+	public ReadWriteRoutingDataSource(DruidDataSource primary, ReplicaProperties properties) {
+		this.primary = primary;
+		List<ReplicaProperties.Replica> replicaList = properties.getReplicas();
+		this.replicas = IntStream.range(0, replicaList.size()).mapToObj(i -> {
+			ReplicaProperties.Replica replica = replicaList.get(i);
+			DruidDataSource dataSource = primary.cloneDruidDataSource();
+			// 区分主从库的监控数据
+			dataSource.setName(primary.getName() + "-replica-" + i);
+			dataSource.setUrl(replica.getUrl());
+			if (replica.getUsername() != null) {
+				dataSource.setUsername(replica.getUsername());
+			}
+			if (replica.getPassword() != null) {
+				dataSource.setPassword(replica.getPassword());
+			}
+			return dataSource;
+		}).toList();
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			targets.put(i, replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (replicas.isEmpty() || !ReadOnlyContext.isReadOnly()
+				|| TransactionSynchronizationManager.isActualTransactionActive()) {
+			return PRIMARY;
+		}
+		return leastActiveReplica();
+	}
+
+	/**
+	 * 选择活跃连接数最少的从库，活跃数相同时从轮转位置开始选，避免总是命中第一个
+	 */
+	private int leastActiveReplica() {
+		int size = replicas.size();
+		int start = Math.floorMod(offset.getAndIncrement(), size);
+		int best = start;
+		int bestActive = Integer.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			int index = (start + i) % size;
+			int active = replicas.get(index).getActiveCount();
+			if (active < bestActive) {
+				best = index;
+				bestActive = active;
+			}
+		}
+		return best;
+	}
+
+	public DruidDataSource getPrimary() {
+		return primary;
+	}
+
+	public List<DruidDataSource> getReplicas() {
+		return replicas;
+	}
+
+	/**
+	 * 从库由本类创建，需要自己关闭，主库由Spring容器管理
+	 */
+	@Override
+	public void destroy() {
+		replicas.forEach(DruidDataSource::close);
+	}
+}
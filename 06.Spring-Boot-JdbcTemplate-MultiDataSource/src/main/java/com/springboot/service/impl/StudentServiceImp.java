@@ -6,6 +6,7 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.springboot.annotation.ReadOnly;
 import com.springboot.dao.MysqlStudentDao;
 import com.springboot.dao.OracleStudentDao;
 import com.springboot.service.StudentService;
@@ -17,11 +18,13 @@ public class StudentServiceImp implements StudentService{
 	@Autowired
 	private MysqlStudentDao mysqlStudentDao;
 	
+	@ReadOnly
 	@Override
 	public List<Map<String, Object>> getAllStudentsFromOralce() {
 		return this.oracleStudentDao.getAllStudents();
 	}
 
+	@ReadOnly
 	@Override
 	public List<Map<String, Object>> getAllStudentsFromMysql() {
 		return this.mysqlStudentDao.getAllStudents();
@@ -23,7 +23,8 @@ CREATE TABLE `student` (
   `SNO` varchar(3) NOT NULL,
   `SNAME` varchar(10) NOT NULL,
   `SSEX` char(2) NOT NULL,
-  `DATASOURCE` varchar(10) DEFAULT NULL
+  `DATASOURCE` varchar(10) DEFAULT NULL,
+  PRIMARY KEY (`SNO`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -31,3 +32,19 @@ CREATE TABLE `student` (
 -- ----------------------------
 INSERT INTO `student` VALUES ('001', 'KangKang', 'M', 'mysql');
 INSERT INTO `student` VALUES ('002', 'Mike', 'M', 'mysql');
+
+-- ----------------------------
+-- Table structure for student_copy_checkpoint
+-- 跨库复制student表的检查点，建在目标库中
+-- ----------------------------
+DROP TABLE IF EXISTS `student_copy_checkpoint`;
+CREATE TABLE `student_copy_checkpoint` (
+  `JOB_ID` varchar(64) NOT NULL,
+  `PARTITION_NO` int NOT NULL,
+  `LOW_SNO` varchar(3) DEFAULT NULL,
+  `HIGH_SNO` varchar(3) DEFAULT NULL,
+  `LAST_SNO` varchar(3) DEFAULT NULL,
+  `COPIED_ROWS` bigint NOT NULL DEFAULT 0,
+  `FINISHED` int NOT NULL DEFAULT 0,
+  PRIMARY KEY (`JOB_ID`, `PARTITION_NO`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
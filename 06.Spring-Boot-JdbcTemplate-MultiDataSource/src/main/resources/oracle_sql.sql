@@ -45,3 +45,25 @@ INSERT INTO STUDENT VALUES ('004', 'Maria', 'F ', 'oracle');
 ALTER TABLE STUDENT ADD CHECK (SNO IS NOT NULL);
 ALTER TABLE STUDENT ADD CHECK (SNAME IS NOT NULL);
 ALTER TABLE STUDENT ADD CHECK (SSEX IS NOT NULL);
+
+-- ----------------------------
+-- Primary Key structure for table STUDENT
+-- 跨库复制时按学号判断目标表中是否已存在
+-- ----------------------------
+ALTER TABLE STUDENT ADD PRIMARY KEY (SNO);
+
+-- ----------------------------
+-- Table structure for STUDENT_COPY_CHECKPOINT
+-- 跨库复制student表的检查点，建在目标库中
+-- ----------------------------
+CREATE TABLE STUDENT_COPY_CHECKPOINT (
+JOB_ID VARCHAR2(64 BYTE) NOT NULL ,
+PARTITION_NO NUMBER(10) NOT NULL ,
+LOW_SNO VARCHAR2(3 BYTE) NULL ,
+HIGH_SNO VARCHAR2(3 BYTE) NULL ,
+LAST_SNO VARCHAR2(3 BYTE) NULL ,
+COPIED_ROWS NUMBER(19) DEFAULT 0 NOT NULL ,
+FINISHED NUMBER(1) DEFAULT 0 NOT NULL ,
+PRIMARY KEY (JOB_ID, PARTITION_NO)
+)
+;
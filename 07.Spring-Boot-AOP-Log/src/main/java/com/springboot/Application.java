@@ -2,9 +2,15 @@ package com.springboot;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.springboot.properties.SysLogProperties;
 
 
 @SpringBootApplication
+@EnableConfigurationProperties(SysLogProperties.class)
+@EnableScheduling
 public class Application {
 	
 	public static void main(String[] args) {
@@ -1,7 +1,7 @@
 package com.springboot.aspect;
-import com.springboot.annotation.Log;
-import com.springboot.dao.SysLogDao;
 import com.springboot.domain.SysLog;
+import com.springboot.log.AsyncSysLogWriter;
+import com.springboot.log.LatencyRecorder;
 import com.springboot.util.HttpContextUtils;
 import com.springboot.util.IPUtils;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,11 +11,14 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodClassKey;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 系统日志切面处理类
@@ -27,7 +30,27 @@ import java.util.Date;
 public class LogAspect {
 
     @Autowired
-    private SysLogDao sysLogDao;
+    private AsyncSysLogWriter asyncSysLogWriter;
+
+    @Autowired
+    private LatencyRecorder latencyRecorder;
+
+    /**
+     * 单个参数值的最大长度
+     */
+    @Value("${syslog.params.max-arg-length:200}")
+    private int maxArgLength;
+
+    /**
+     * 参数字符串的最大长度，与sys_log.params列长度一致
+     */
+    @Value("${syslog.params.max-length:500}")
+    private int maxParamsLength;
+
+    /**
+     * 方法元数据缓存，避免每次调用都反射获取注解和参数名
+     */
+    private final Map<MethodClassKey, LogMetadata> metadataCache = new ConcurrentHashMap<>();
 
     /**
      * 定义切入点：标记@Log注解的方法
@@ -65,36 +88,15 @@ public class LogAspect {
      */
     private void saveLog(ProceedingJoinPoint joinPoint, long time) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
+        LogMetadata metadata = getMetadata(signature.getMethod(), joinPoint.getTarget().getClass());
         SysLog sysLog = new SysLog();
 
-        // 从注解获取操作描述
-        Log logAnnotation = method.getAnnotation(Log.class);
-        if (logAnnotation != null) {
-            sysLog.setOperation(logAnnotation.value());
-        }
+        // 操作描述和完整方法签名都来自缓存的元数据
+        sysLog.setOperation(metadata.getOperation());
+        sysLog.setMethod(metadata.getSignature());
 
-        // 构建完整方法签名
-        String className = joinPoint.getTarget().getClass().getName();
-        String methodName = signature.getName();
-        sysLog.setMethod(className + "." + methodName + "()");
-
-        // 处理请求参数信息
-        Object[] args = joinPoint.getArgs();
-        // 使用Java反射API获取参数名（需要添加-parameters编译参数）
-        Parameter[] parameters = method.getParameters();
-        
-        if (args != null && parameters != null && args.length > 0) {
-            StringBuilder params = new StringBuilder();
-            // 拼接参数名和参数值
-            for (int i = 0; i < args.length; i++) {
-                params.append("  ")
-                      .append(parameters[i].getName())
-                      .append(": ")
-                      .append(args[i]);
-            }
-            sysLog.setParams(params.toString());
-        }
+        // 处理请求参数信息，超长参数会被截断
+        sysLog.setParams(metadata.renderParams(joinPoint.getArgs(), maxArgLength, maxParamsLength));
 
         // 获取客户端IP信息
         HttpServletRequest request = HttpContextUtils.getHttpServletRequest();
@@ -105,7 +107,25 @@ public class LogAspect {
         sysLog.setTime((int) time);
         sysLog.setCreateTime(new Date());
 
-        // 持久化到数据库
-        sysLogDao.saveSysLog(sysLog);
+        // 记录耗时分布，用于实时分位数和按分钟汇总
+        latencyRecorder.record(metadata.getOperation(), metadata.getSignature(), time);
+
+        // 放入异步队列，由后台线程批量写入数据库
+        asyncSysLogWriter.write(sysLog);
+    }
+
+    /**
+     * 获取方法的日志元数据，首次调用时解析并缓存
+     * @param method 被拦截的方法
+     * @param targetClass 目标对象的类型
+     * @return 日志元数据
+     */
+    private LogMetadata getMetadata(Method method, Class<?> targetClass) {
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        LogMetadata metadata = metadataCache.get(key);
+        if (metadata == null) {
+            metadata = metadataCache.computeIfAbsent(key, k -> new LogMetadata(method, targetClass));
+        }
+        return metadata;
     }
 }
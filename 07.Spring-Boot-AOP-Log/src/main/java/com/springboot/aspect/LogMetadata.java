@@ -0,0 +1,90 @@
+package com.springboot.aspect;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+import com.springboot.annotation.Log;
+
+/**
+ * 被@Log标注方法的元数据
+ * 每个方法只在第一次调用时通过反射解析一次，之后由切面缓存复用
+ */
+final class LogMetadata {
+
+    /**
+     * 截断标记
+     */
+    private static final String TRUNCATED = "...";
+
+    /**
+     * 参数拼接复用的缓冲区，避免每次调用新建StringBuilder
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String operation;
+    private final String signature;
+    /**
+     * 预先拼好的"  参数名: "前缀
+     */
+    private final String[] paramPrefixes;
+
+    LogMetadata(Method method, Class<?> targetClass) {
+        Log logAnnotation = method.getAnnotation(Log.class);
+        this.operation = logAnnotation != null ? logAnnotation.value() : null;
+        this.signature = targetClass.getName() + "." + method.getName() + "()";
+        // 使用Java反射API获取参数名（需要添加-parameters编译参数）
+        Parameter[] parameters = method.getParameters();
+        this.paramPrefixes = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            this.paramPrefixes[i] = "  " + parameters[i].getName() + ": ";
+        }
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    String getSignature() {
+        return signature;
+    }
+
+    /**
+     * 拼接参数名和参数值
+     *
+     * @param args 参数值
+     * @param maxArgLength 单个参数值的最大长度
+     * @param maxLength 拼接结果的最大长度
+     * @return 参数字符串，无参数时返回null
+     */
+    String renderParams(Object[] args, int maxArgLength, int maxLength) {
+        if (args == null || args.length == 0 || paramPrefixes.length == 0) {
+            return null;
+        }
+        StringBuilder params = BUFFER.get();
+        params.setLength(0);
+        int count = Math.min(args.length, paramPrefixes.length);
+        for (int i = 0; i < count && params.length() < maxLength; i++) {
+            params.append(paramPrefixes[i]);
+            appendBounded(params, args[i], maxArgLength);
+        }
+        if (params.length() > maxLength) {
+            params.setLength(Math.max(0, maxLength - TRUNCATED.length()));
+            params.append(TRUNCATED);
+        }
+        String result = params.toString();
+        // 渲染过超大参数时不保留大缓冲区
+        if (params.capacity() > maxLength * 4) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private static void appendBounded(StringBuilder params, Object arg, int maxArgLength) {
+        CharSequence value = arg instanceof CharSequence ? (CharSequence) arg : String.valueOf(arg);
+        if (value.length() <= maxArgLength) {
+            params.append(value);
+        } else {
+            params.append(value, 0, Math.max(0, maxArgLength - TRUNCATED.length())).append(TRUNCATED);
+        }
+    }
+}
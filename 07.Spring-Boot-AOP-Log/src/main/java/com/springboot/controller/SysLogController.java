@@ -0,0 +1,37 @@
+package com.springboot.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.springboot.log.AsyncSysLogWriter;
+import com.springboot.log.LatencyRecorder;
+
+@RestController
+public class SysLogController {
+
+	@Autowired
+	private AsyncSysLogWriter asyncSysLogWriter;
+
+	@Autowired
+	private LatencyRecorder latencyRecorder;
+
+	/**
+	 * 查看异步日志队列深度和丢弃计数
+	 */
+	@GetMapping("/syslog/stats")
+	public Map<String, Object> stats() {
+		return asyncSysLogWriter.stats();
+	}
+
+	/**
+	 * 查看各操作当前分钟和上一分钟的耗时分位数
+	 */
+	@GetMapping("/syslog/latency")
+	public List<Map<String, Object>> latency() {
+		return latencyRecorder.snapshot();
+	}
+}
@@ -1,7 +1,17 @@
 package com.springboot.dao;
 
+import java.util.List;
+
 import com.springboot.domain.SysLog;
 
 public interface SysLogDao {
 	void saveSysLog(SysLog syslog);
+
+	/**
+	 * 批量保存日志，一次JDBC批处理写入
+	 *
+	 * @param sysLogs 日志列表
+	 * @return 每条语句影响的行数
+	 */
+	int[] saveSysLogs(List<SysLog> sysLogs);
 }
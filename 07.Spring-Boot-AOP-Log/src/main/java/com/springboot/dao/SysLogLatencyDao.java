@@ -0,0 +1,9 @@
+package com.springboot.dao;
+
+import java.util.List;
+
+import com.springboot.domain.SysLogLatency;
+
+public interface SysLogLatencyDao {
+	int[] saveLatencies(List<SysLogLatency> latencies);
+}
@@ -0,0 +1,34 @@
+package com.springboot.dao.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.springboot.dao.SysLogLatencyDao;
+import com.springboot.domain.SysLogLatency;
+import com.springboot.util.BeanAccessorSqlParameterSource;
+
+@Repository
+public class SysLogLatencyDaoImp implements SysLogLatencyDao {
+
+	// 同一分钟重复汇总（如重启）时覆盖旧数据
+	private static final String INSERT_SQL = "INSERT INTO sys_log_latency " +
+			"(bucket_time, operation, method, count, min_time, max_time, mean_time, p50, p90, p99, p999) " +
+			"VALUES (:bucketTime, :operation, :method, :count, :minTime, :maxTime, :meanTime, :p50, :p90, :p99, :p999) " +
+			"ON DUPLICATE KEY UPDATE count = VALUES(count), min_time = VALUES(min_time), max_time = VALUES(max_time), " +
+			"mean_time = VALUES(mean_time), p50 = VALUES(p50), p90 = VALUES(p90), p99 = VALUES(p99), p999 = VALUES(p999)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public int[] saveLatencies(List<SysLogLatency> latencies) {
+		return new NamedParameterJdbcTemplate(jdbcTemplate).batchUpdate(
+				INSERT_SQL,
+				BeanAccessorSqlParameterSource.createBatch(latencies));
+	}
+
+}
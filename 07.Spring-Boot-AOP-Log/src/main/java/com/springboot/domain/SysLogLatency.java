@@ -0,0 +1,88 @@
+package com.springboot.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+public class SysLogLatency implements Serializable{
+
+	private static final long serialVersionUID = 4718127040437360542L;
+
+	private Date bucketTime;
+	private String operation;
+	private String method;
+	private Long count;
+	private Integer minTime;
+	private Integer maxTime;
+	private Double meanTime;
+	private Integer p50;
+	private Integer p90;
+	private Integer p99;
+	private Integer p999;
+	public Date getBucketTime() {
+		return bucketTime;
+	}
+	public void setBucketTime(Date bucketTime) {
+		this.bucketTime = bucketTime;
+	}
+	public String getOperation() {
+		return operation;
+	}
+	public void setOperation(String operation) {
+		this.operation = operation;
+	}
+	public String getMethod() {
+		return method;
+	}
+	public void setMethod(String method) {
+		this.method = method;
+	}
+	public Long getCount() {
+		return count;
+	}
+	public void setCount(Long count) {
+		this.count = count;
+	}
+	public Integer getMinTime() {
+		return minTime;
+	}
+	public void setMinTime(Integer minTime) {
+		this.minTime = minTime;
+	}
+	public Integer getMaxTime() {
+		return maxTime;
+	}
+	public void setMaxTime(Integer maxTime) {
+		this.maxTime = maxTime;
+	}
+	public Double getMeanTime() {
+		return meanTime;
+	}
+	public void setMeanTime(Double meanTime) {
+		this.meanTime = meanTime;
+	}
+	public Integer getP50() {
+		return p50;
+	}
+	public void setP50(Integer p50) {
+		this.p50 = p50;
+	}
+	public Integer getP90() {
+		return p90;
+	}
+	public void setP90(Integer p90) {
+		this.p90 = p90;
+	}
+	public Integer getP99() {
+		return p99;
+	}
+	public void setP99(Integer p99) {
+		this.p99 = p99;
+	}
+	public Integer getP999() {
+		return p999;
+	}
+	public void setP999(Integer p999) {
+		this.p999 = p999;
+	}
+
+}
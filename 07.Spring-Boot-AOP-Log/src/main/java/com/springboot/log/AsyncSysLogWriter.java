@@ -0,0 +1,213 @@
+package com.springboot.log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.springboot.dao.SysLogDao;
+import com.springboot.domain.SysLog;
+import com.springboot.properties.SysLogProperties;
+
+/**
+ * 异步批量日志写入器
+ * 切面把日志放入有界的无锁队列后立即返回，后台线程按批量大小或时间窗口
+ * 通过JDBC批处理写入sys_log，应用关闭时会把队列中剩余的日志全部写完
+ */
+@Component
+public class AsyncSysLogWriter implements InitializingBean, DisposableBean {
+
+	/**
+	 * BLOCK策略下请求线程每次等待的时间
+	 */
+	private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	private SysLogDao sysLogDao;
+
+	@Autowired
+	private SysLogProperties properties;
+
+	private final Queue<SysLog> queue = new ConcurrentLinkedQueue<>();
+	// ConcurrentLinkedQueue的size()需要遍历，这里单独计数并用CAS保证不超过容量
+	private final AtomicInteger depth = new AtomicInteger();
+
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder written = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+
+	private volatile boolean running;
+	// 正在执行write的线程数，关闭时等它们结束后再做最后一次排空，避免入队晚于排空的日志丢失
+	private final AtomicInteger writers = new AtomicInteger();
+	private Thread flusher;
+
+	@Override
+	public void afterPropertiesSet() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		running = true;
+		flusher = new Thread(this::runFlusher, "syslog-flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	/**
+	 * 提交一条日志，未开启异步或已关闭时退化为同步写入
+	 *
+	 * @param sysLog 日志记录
+	 */
+	public void write(SysLog sysLog) {
+		// 先登记再检查running：destroy先清除running再等待登记数归零，二者之一必然看到对方
+		writers.incrementAndGet();
+		try {
+			if (!running) {
+				sysLogDao.saveSysLog(sysLog);
+				return;
+			}
+			if (offer(sysLog)) {
+				accepted.increment();
+			} else {
+				dropped.increment();
+			}
+		} finally {
+			writers.decrementAndGet();
+		}
+	}
+
+	private boolean offer(SysLog sysLog) {
+		int capacity = properties.getQueueCapacity();
+		OverflowPolicy policy = properties.getOverflowPolicy();
+		if (policy == OverflowPolicy.SAMPLE
+				&& depth.get() >= capacity * properties.getSampleThreshold()
+				&& ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+			return false;
+		}
+		if (tryEnqueue(sysLog, capacity)) {
+			return true;
+		}
+		if (policy == OverflowPolicy.BLOCK) {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeout());
+			do {
+				LockSupport.unpark(flusher);
+				LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+				if (tryEnqueue(sysLog, capacity)) {
+					return true;
+				}
+			} while (running && System.nanoTime() < deadline);
+		}
+		return false;
+	}
+
+	private boolean tryEnqueue(SysLog sysLog, int capacity) {
+		int current;
+		do {
+			current = depth.get();
+			if (current >= capacity) {
+				return false;
+			}
+		} while (!depth.compareAndSet(current, current + 1));
+		queue.offer(sysLog);
+		// 攒满一批时唤醒后台线程，不必等到时间窗口结束
+		if (current + 1 == properties.getBatchSize()) {
+			LockSupport.unpark(flusher);
+		}
+		return true;
+	}
+
+	private void runFlusher() {
+		long intervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushInterval());
+		List<SysLog> batch = new ArrayList<>(properties.getBatchSize());
+		while (running) {
+			if (depth.get() < properties.getBatchSize()) {
+				LockSupport.parkNanos(this, intervalNanos);
+			}
+			flushAvailable(batch);
+		}
+		// 关闭时把剩余日志全部写完
+		flushAvailable(batch);
+	}
+
+	private void flushAvailable(List<SysLog> batch) {
+		SysLog sysLog;
+		while ((sysLog = queue.poll()) != null) {
+			depth.decrementAndGet();
+			batch.add(sysLog);
+			if (batch.size() >= properties.getBatchSize()) {
+				flush(batch);
+			}
+		}
+		if (!batch.isEmpty()) {
+			flush(batch);
+		}
+	}
+
+	private void flush(List<SysLog> batch) {
+		try {
+			sysLogDao.saveSysLogs(batch);
+			written.add(batch.size());
+		} catch (RuntimeException e) {
+			failed.add(batch.size());
+			log.error("批量写入sys_log失败，丢弃{}条日志", batch.size(), e);
+		} finally {
+			batch.clear();
+		}
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		if (!running) {
+			return;
+		}
+		running = false;
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getShutdownTimeout());
+		LockSupport.unpark(flusher);
+		flusher.join(properties.getShutdownTimeout());
+		// 等待看到running为true的write完成入队
+		while (writers.get() > 0 && System.nanoTime() < deadline) {
+			LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+		}
+		if (flusher.isAlive() || writers.get() > 0) {
+			log.warn("sys_log队列未能在{}ms内排空，剩余{}条", properties.getShutdownTimeout(), depth.get());
+		}
+		if (!flusher.isAlive()) {
+			// 处理停止前最后一刻进入队列的日志
+			flushAvailable(new ArrayList<>());
+		}
+	}
+
+	/**
+	 * 获取写入器的运行计数
+	 *
+	 * @return 队列深度、接收、丢弃、写入、失败条数
+	 */
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", running);
+		stats.put("queueDepth", depth.get());
+		stats.put("queueCapacity", properties.getQueueCapacity());
+		stats.put("overflowPolicy", properties.getOverflowPolicy());
+		stats.put("accepted", accepted.sum());
+		stats.put("dropped", dropped.sum());
+		stats.put("written", written.sum());
+		stats.put("failed", failed.sum());
+		return stats;
+	}
+}
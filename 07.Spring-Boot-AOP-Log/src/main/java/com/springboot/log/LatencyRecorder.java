@@ -0,0 +1,181 @@
+package com.springboot.log;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.springboot.dao.SysLogLatencyDao;
+import com.springboot.domain.SysLogLatency;
+
+/**
+ * 按@Log操作和方法统计耗时分布
+ * 请求线程只向无锁的Recorder写入，每分钟汇总一次分位数写入sys_log_latency，
+ * 接口查询时直接读取内存中的直方图，不需要扫描sys_log表
+ */
+@Component
+public class LatencyRecorder {
+
+	/**
+	 * 可记录的最大耗时（毫秒），超过的按该值记录
+	 */
+	private static final long MAX_TRACKABLE_TIME = 3600_000L;
+	private static final int SIGNIFICANT_DIGITS = 2;
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	private SysLogLatencyDao sysLogLatencyDao;
+
+	/**
+	 * 以方法签名为键的耗时统计
+	 */
+	private final Map<String, OperationLatency> latencies = new ConcurrentHashMap<>();
+
+	/**
+	 * 记录一次调用耗时
+	 *
+	 * @param operation @Log中的操作描述
+	 * @param method 方法签名
+	 * @param time 耗时（毫秒）
+	 */
+	public void record(String operation, String method, long time) {
+		OperationLatency latency = latencies.get(method);
+		if (latency == null) {
+			latency = latencies.computeIfAbsent(method, k -> new OperationLatency(operation, method));
+		}
+		latency.recorder.recordValue(Math.min(Math.max(time, 0), MAX_TRACKABLE_TIME));
+	}
+
+	/**
+	 * 每分钟开始时汇总上一分钟的数据
+	 */
+	@Scheduled(cron = "0 * * * * *")
+	public void rollup() {
+		Date bucketTime = Date.from(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(1)
+				.atZone(ZoneId.systemDefault()).toInstant());
+		List<SysLogLatency> rows = new ArrayList<>();
+		for (OperationLatency latency : latencies.values()) {
+			Histogram minute = latency.rollover();
+			if (minute.getTotalCount() > 0) {
+				rows.add(toRow(latency, minute, bucketTime));
+			}
+		}
+		if (rows.isEmpty()) {
+			return;
+		}
+		try {
+			sysLogLatencyDao.saveLatencies(rows);
+		} catch (RuntimeException e) {
+			log.error("写入sys_log_latency失败，丢弃{}条汇总", rows.size(), e);
+		}
+	}
+
+	/**
+	 * 获取各操作的实时分位数
+	 *
+	 * @return 每个方法当前分钟和上一分钟的耗时分布
+	 */
+	public List<Map<String, Object>> snapshot() {
+		List<Map<String, Object>> result = new ArrayList<>();
+		for (OperationLatency latency : latencies.values()) {
+			Histogram current;
+			Histogram lastMinute;
+			synchronized (latency) {
+				latency.sample();
+				current = latency.current.copy();
+				lastMinute = latency.lastMinute;
+			}
+			Map<String, Object> item = new LinkedHashMap<>();
+			item.put("operation", latency.operation);
+			item.put("method", latency.method);
+			item.put("current", percentiles(current));
+			item.put("lastMinute", lastMinute == null ? null : percentiles(lastMinute));
+			result.add(item);
+		}
+		return result;
+	}
+
+	private static SysLogLatency toRow(OperationLatency latency, Histogram histogram, Date bucketTime) {
+		SysLogLatency row = new SysLogLatency();
+		row.setBucketTime(bucketTime);
+		row.setOperation(latency.operation);
+		row.setMethod(latency.method);
+		row.setCount(histogram.getTotalCount());
+		row.setMinTime((int) histogram.getMinValue());
+		row.setMaxTime((int) histogram.getMaxValue());
+		row.setMeanTime(histogram.getMean());
+		row.setP50((int) histogram.getValueAtPercentile(50));
+		row.setP90((int) histogram.getValueAtPercentile(90));
+		row.setP99((int) histogram.getValueAtPercentile(99));
+		row.setP999((int) histogram.getValueAtPercentile(99.9));
+		return row;
+	}
+
+	private static Map<String, Object> percentiles(Histogram histogram) {
+		Map<String, Object> item = new LinkedHashMap<>();
+		long count = histogram.getTotalCount();
+		item.put("count", count);
+		if (count > 0) {
+			item.put("min", histogram.getMinValue());
+			item.put("max", histogram.getMaxValue());
+			item.put("mean", histogram.getMean());
+			item.put("p50", histogram.getValueAtPercentile(50));
+			item.put("p90", histogram.getValueAtPercentile(90));
+			item.put("p99", histogram.getValueAtPercentile(99));
+			item.put("p999", histogram.getValueAtPercentile(99.9));
+		}
+		return item;
+	}
+
+	/**
+	 * 单个方法的耗时统计
+	 * recorder供请求线程无锁写入，current累计当前分钟已取出的数据
+	 */
+	private static final class OperationLatency {
+
+		private final String operation;
+		private final String method;
+		private final Recorder recorder = new Recorder(MAX_TRACKABLE_TIME, SIGNIFICANT_DIGITS);
+		private final Histogram current = new Histogram(MAX_TRACKABLE_TIME, SIGNIFICANT_DIGITS);
+		private Histogram interval;
+		private Histogram lastMinute;
+
+		private OperationLatency(String operation, String method) {
+			this.operation = operation;
+			this.method = method;
+		}
+
+		/**
+		 * 把recorder中新记录的数据合并到当前分钟
+		 */
+		private synchronized void sample() {
+			interval = recorder.getIntervalHistogram(interval);
+			current.add(interval);
+		}
+
+		/**
+		 * 结束当前分钟，返回该分钟的完整分布
+		 */
+		private synchronized Histogram rollover() {
+			sample();
+			Histogram minute = current.copy();
+			current.reset();
+			lastMinute = minute;
+			return minute;
+		}
+	}
+}
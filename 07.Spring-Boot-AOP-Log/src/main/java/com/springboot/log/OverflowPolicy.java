@@ -0,0 +1,19 @@
+package com.springboot.log;
+
+/**
+ * 日志队列满时的处理策略
+ */
+public enum OverflowPolicy {
+	/**
+	 * 直接丢弃新日志
+	 */
+	DROP,
+	/**
+	 * 阻塞请求线程等待队列空位，超时后丢弃
+	 */
+	BLOCK,
+	/**
+	 * 超过水位后按比例采样保留，队列满时丢弃
+	 */
+	SAMPLE
+}
@@ -0,0 +1,129 @@
+package com.springboot.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.springboot.log.OverflowPolicy;
+
+/**
+ * 异步日志写入配置，前缀为"syslog.async"
+ */
+@ConfigurationProperties(prefix = "syslog.async")
+public class SysLogProperties {
+
+	/**
+	 * 是否开启异步写入，关闭时在请求线程中同步保存
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * 队列容量
+	 */
+	private int queueCapacity = 10000;
+
+	/**
+	 * 每批写入的最大条数
+	 */
+	private int batchSize = 200;
+
+	/**
+	 * 刷新时间窗口（毫秒），未攒满一批时到点也会写入
+	 */
+	private long flushInterval = 1000;
+
+	/**
+	 * 队列满时的处理策略
+	 */
+	private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+	/**
+	 * BLOCK策略下的最长等待时间（毫秒），超时后丢弃
+	 */
+	private long blockTimeout = 100;
+
+	/**
+	 * SAMPLE策略下开始采样的队列水位（占容量的比例）
+	 */
+	private double sampleThreshold = 0.8;
+
+	/**
+	 * SAMPLE策略下超过水位后的保留比例
+	 */
+	private double sampleRate = 0.1;
+
+	/**
+	 * 关闭时等待队列排空的最长时间（毫秒）
+	 */
+	private long shutdownTimeout = 10000;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public long getFlushInterval() {
+		return flushInterval;
+	}
+
+	public void setFlushInterval(long flushInterval) {
+		this.flushInterval = flushInterval;
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	public long getBlockTimeout() {
+		return blockTimeout;
+	}
+
+	public void setBlockTimeout(long blockTimeout) {
+		this.blockTimeout = blockTimeout;
+	}
+
+	public double getSampleThreshold() {
+		return sampleThreshold;
+	}
+
+	public void setSampleThreshold(double sampleThreshold) {
+		this.sampleThreshold = sampleThreshold;
+	}
+
+	public double getSampleRate() {
+		return sampleRate;
+	}
+
+	public void setSampleRate(double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	public long getShutdownTimeout() {
+		return shutdownTimeout;
+	}
+
+	public void setShutdownTimeout(long shutdownTimeout) {
+		this.shutdownTimeout = shutdownTimeout;
+	}
+}
@@ -0,0 +1,152 @@
+package com.springboot.util;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * 基于访问器缓存的SqlParameterSource，可替代BeanPropertySqlParameterSource
+ * 每个Bean类型只在第一次使用时解析一次属性，并通过LambdaMetafactory为getter生成函数，
+ * 之后取值直接调用生成的函数，不再走反射
+ */
+public class BeanAccessorSqlParameterSource extends AbstractSqlParameterSource {
+
+	private static final ClassValue<BeanAccessors> ACCESSORS = new ClassValue<BeanAccessors>() {
+		@Override
+		protected BeanAccessors computeValue(Class<?> type) {
+			return new BeanAccessors(type);
+		}
+	};
+
+	private final Object bean;
+	private final BeanAccessors accessors;
+
+	public BeanAccessorSqlParameterSource(Object bean) {
+		this.bean = bean;
+		this.accessors = ACCESSORS.get(bean.getClass());
+	}
+
+	/**
+	 * 为一组Bean创建批量参数，可替代SqlParameterSourceUtils.createBatch
+	 *
+	 * @param beans Bean集合
+	 * @return 每个Bean对应的参数
+	 */
+	public static SqlParameterSource[] createBatch(Collection<?> beans) {
+		SqlParameterSource[] batch = new SqlParameterSource[beans.size()];
+		int i = 0;
+		for (Object bean : beans) {
+			batch[i++] = new BeanAccessorSqlParameterSource(bean);
+		}
+		return batch;
+	}
+
+	@Override
+	public boolean hasValue(String paramName) {
+		return accessors.get(paramName) != null;
+	}
+
+	@Override
+	public Object getValue(String paramName) throws IllegalArgumentException {
+		Accessor accessor = accessors.get(paramName);
+		if (accessor == null) {
+			throw new IllegalArgumentException("No property '" + paramName + "' on " + bean.getClass().getName());
+		}
+		return accessor.getter.apply(bean);
+	}
+
+	@Override
+	public int getSqlType(String paramName) {
+		int sqlType = super.getSqlType(paramName);
+		if (sqlType != TYPE_UNKNOWN) {
+			return sqlType;
+		}
+		Accessor accessor = accessors.get(paramName);
+		return accessor != null ? accessor.sqlType : TYPE_UNKNOWN;
+	}
+
+	@Override
+	public String[] getParameterNames() {
+		return accessors.names.clone();
+	}
+
+	/**
+	 * 单个属性的取值函数和对应的SQL类型
+	 */
+	private static final class Accessor {
+
+		private final Function<Object, Object> getter;
+		private final int sqlType;
+
+		private Accessor(Function<Object, Object> getter, int sqlType) {
+			this.getter = getter;
+			this.sqlType = sqlType;
+		}
+	}
+
+	/**
+	 * 某个Bean类型的全部属性访问器
+	 */
+	private static final class BeanAccessors {
+
+		private final Map<String, Accessor> accessors = new HashMap<>();
+		private final String[] names;
+
+		private BeanAccessors(Class<?> type) {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(type)) {
+				Method readMethod = pd.getReadMethod();
+				if (readMethod == null || readMethod.getDeclaringClass() == Object.class) {
+					continue;
+				}
+				Function<Object, Object> getter = getter(lookup, readMethod);
+				int sqlType = StatementCreatorUtils.javaTypeToSqlParameterType(pd.getPropertyType());
+				accessors.put(pd.getName(), new Accessor(getter, sqlType));
+			}
+			this.names = accessors.keySet().toArray(new String[0]);
+		}
+
+		private Accessor get(String name) {
+			return accessors.get(name);
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Function<Object, Object> getter(MethodHandles.Lookup lookup, Method readMethod) {
+			try {
+				MethodHandle handle = lookup.unreflect(readMethod);
+				try {
+					CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+							MethodType.methodType(Function.class),
+							MethodType.methodType(Object.class, Object.class),
+							handle, handle.type().wrap());
+					return (Function<Object, Object>) site.getTarget().invokeExact();
+				} catch (Throwable e) {
+					// 无法生成lambda时（如类加载器不可见）退回到MethodHandle调用
+					MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+					return bean -> {
+						try {
+							return generic.invokeExact(bean);
+						} catch (Throwable ex) {
+							throw new IllegalStateException("Failed to read property via " + readMethod, ex);
+						}
+					};
+				}
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Cannot access " + readMethod, e);
+			}
+		}
+	}
+}
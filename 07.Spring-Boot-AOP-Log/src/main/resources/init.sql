@@ -11,3 +11,20 @@ CREATE TABLE sys_log (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 ALTER TABLE sys_log ADD INDEX idx_create_time (create_time);
 ALTER TABLE sys_log ADD INDEX idx_username (username);
+
+-- 按分钟汇总的接口耗时分位数，由LatencyRecorder每分钟写入
+CREATE TABLE sys_log_latency (
+  id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+  bucket_time DATETIME NOT NULL COMMENT '统计分钟',
+  operation VARCHAR(50) DEFAULT NULL COMMENT '用户操作',
+  method VARCHAR(200) NOT NULL COMMENT '请求方法',
+  count BIGINT NOT NULL COMMENT '调用次数',
+  min_time INT DEFAULT NULL COMMENT '最小耗时（毫秒）',
+  max_time INT DEFAULT NULL COMMENT '最大耗时（毫秒）',
+  mean_time DOUBLE DEFAULT NULL COMMENT '平均耗时（毫秒）',
+  p50 INT DEFAULT NULL COMMENT '50分位耗时（毫秒）',
+  p90 INT DEFAULT NULL COMMENT '90分位耗时（毫秒）',
+  p99 INT DEFAULT NULL COMMENT '99分位耗时（毫秒）',
+  p999 INT DEFAULT NULL COMMENT '99.9分位耗时（毫秒）'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+ALTER TABLE sys_log_latency ADD UNIQUE INDEX uk_bucket_method (bucket_time, method);
@@ -0,0 +1,176 @@
+package com.springboot.aspect;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.springboot.annotation.Log;
+import com.springboot.controller.TestController;
+import com.springboot.domain.SysLog;
+import com.springboot.log.AsyncSysLogWriter;
+import com.springboot.log.LatencyRecorder;
+import com.springboot.util.HttpContextUtils;
+import com.springboot.util.IPUtils;
+
+/**
+ * LogAspect单次调用开销基准测试
+ * direct为不经过切面的直接调用，legacy为改造前每次反射解析的切面，cached为当前切面，
+ * 日志写入被替换为空实现，两个切面共用同一个LatencyRecorder，只测量切面本身的开销
+ *
+ * 运行方式：mvn test-compile 后在IDE中执行main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogAspectBenchmark {
+
+    /**
+     * 参数长度，用于观察超长参数截断的效果
+     */
+    @Param({"8", "4096"})
+    private int argLength;
+
+    private TestController direct;
+    private TestController legacy;
+    private TestController cached;
+    private String name;
+
+    @Setup
+    public void setup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        NoopSysLogWriter writer = new NoopSysLogWriter();
+        LatencyRecorder latencyRecorder = new LatencyRecorder();
+
+        LogAspect logAspect = new LogAspect();
+        ReflectionTestUtils.setField(logAspect, "asyncSysLogWriter", writer);
+        ReflectionTestUtils.setField(logAspect, "latencyRecorder", latencyRecorder);
+        ReflectionTestUtils.setField(logAspect, "maxArgLength", 200);
+        ReflectionTestUtils.setField(logAspect, "maxParamsLength", 500);
+
+        direct = new TestController();
+        legacy = proxy(new LegacyLogAspect(writer, latencyRecorder));
+        cached = proxy(logAspect);
+        name = "x".repeat(argLength);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static TestController proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TestController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Benchmark
+    public void direct() {
+        direct.methodThree(name, "18");
+    }
+
+    @Benchmark
+    public void legacy() {
+        legacy.methodThree(name, "18");
+    }
+
+    @Benchmark
+    public void cached() {
+        cached.methodThree(name, "18");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LogAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * 只保留最后一条日志的写入器，防止日志对象被JIT优化掉
+     */
+    static class NoopSysLogWriter extends AsyncSysLogWriter {
+
+        volatile SysLog last;
+
+        @Override
+        public void write(SysLog sysLog) {
+            last = sysLog;
+        }
+    }
+
+    /**
+     * 改造前的切面实现，每次调用都反射获取注解和参数名；
+     * 同样记录耗时，与当前切面的差异只在元数据的解析方式
+     */
+    @Aspect
+    static class LegacyLogAspect {
+
+        private final AsyncSysLogWriter writer;
+        private final LatencyRecorder latencyRecorder;
+
+        LegacyLogAspect(AsyncSysLogWriter writer, LatencyRecorder latencyRecorder) {
+            this.writer = writer;
+            this.latencyRecorder = latencyRecorder;
+        }
+
+        @Around("@annotation(com.springboot.annotation.Log)")
+        public Object around(ProceedingJoinPoint point) throws Throwable {
+            long beginTime = System.currentTimeMillis();
+            point.proceed();
+            long time = System.currentTimeMillis() - beginTime;
+
+            MethodSignature signature = (MethodSignature) point.getSignature();
+            Method method = signature.getMethod();
+            SysLog sysLog = new SysLog();
+            Log logAnnotation = method.getAnnotation(Log.class);
+            if (logAnnotation != null) {
+                sysLog.setOperation(logAnnotation.value());
+            }
+            sysLog.setMethod(point.getTarget().getClass().getName() + "." + signature.getName() + "()");
+            Object[] args = point.getArgs();
+            Parameter[] parameters = method.getParameters();
+            if (args != null && parameters != null && args.length > 0) {
+                StringBuilder params = new StringBuilder();
+                for (int i = 0; i < args.length; i++) {
+                    params.append("  ").append(parameters[i].getName()).append(": ").append(args[i]);
+                }
+                sysLog.setParams(params.toString());
+            }
+            sysLog.setIp(IPUtils.getIpAddr(HttpContextUtils.getHttpServletRequest()));
+            sysLog.setUsername("mrbird");
+            sysLog.setTime((int) time);
+            sysLog.setCreateTime(new Date());
+            latencyRecorder.record(sysLog.getOperation(), sysLog.getMethod(), time);
+            writer.write(sysLog);
+            return true;
+        }
+    }
+}
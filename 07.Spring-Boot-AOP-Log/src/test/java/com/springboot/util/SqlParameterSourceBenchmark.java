@@ -0,0 +1,77 @@
+package com.springboot.util;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import com.springboot.domain.SysLog;
+
+/**
+ * SysLog插入参数的取值开销，对比BeanPropertySqlParameterSource和BeanAccessorSqlParameterSource
+ * 每次调用模拟NamedParameterJdbcTemplate执行一次插入时对参数源的访问
+ *
+ * 运行方式：mvn test-compile 后在IDE中执行main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SqlParameterSourceBenchmark {
+
+    private static final String[] PARAM_NAMES = {"username", "operation", "time", "method", "params", "ip", "createTime"};
+
+    private SysLog sysLog;
+
+    @Setup
+    public void setup() {
+        sysLog = new SysLog();
+        sysLog.setUsername("mrbird");
+        sysLog.setOperation("执行方法三");
+        sysLog.setTime(12);
+        sysLog.setMethod("com.springboot.controller.TestController.methodThree()");
+        sysLog.setParams("  name: mrbird  age: 18");
+        sysLog.setIp("127.0.0.1");
+        sysLog.setCreateTime(new Date());
+    }
+
+    @Benchmark
+    public void beanProperty(Blackhole bh) {
+        read(new BeanPropertySqlParameterSource(sysLog), bh);
+    }
+
+    @Benchmark
+    public void beanAccessor(Blackhole bh) {
+        read(new BeanAccessorSqlParameterSource(sysLog), bh);
+    }
+
+    private static void read(SqlParameterSource source, Blackhole bh) {
+        for (String name : PARAM_NAMES) {
+            if (source.hasValue(name)) {
+                bh.consume(source.getSqlType(name));
+                bh.consume(source.getValue(name));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SqlParameterSourceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
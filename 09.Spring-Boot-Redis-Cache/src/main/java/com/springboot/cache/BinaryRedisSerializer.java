@@ -0,0 +1,147 @@
+package com.springboot.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * 紧凑的二进制值序列化器
+ * 已注册的类型使用Smile（二进制JSON）编码，值中只保存2字节的类型编号而不是类名，
+ * 超过压缩阈值的值再用LZ4压缩。未注册的类型仍交给原来的JSON序列化器处理。
+ *
+ * 二进制格式：版本(1字节) | 标志(1字节，bit0表示LZ4压缩) | 类型编号(2字节) | [压缩前长度(4字节)] | 数据
+ * JSON文本的首字节不会小于0x09，据此区分二进制格式和原来的JSON格式，滚动发布期间两种格式都能读取；
+ * 可以先以writeBinary=false发布，所有节点都能读取二进制格式后再切换为写二进制格式
+ */
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+	static final byte VERSION = 1;
+	private static final byte FLAG_LZ4 = 1;
+	private static final int HEADER_LENGTH = 4;
+
+	private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+	private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+	private final ObjectMapper smileMapper;
+	private final Map<Class<?>, Short> typeIds = new HashMap<>();
+	private final Map<Short, Class<?>> types = new HashMap<>();
+	private final int compressThreshold;
+	private final boolean writeBinary;
+	private final RedisSerializer<Object> jsonSerializer;
+
+	/**
+	 * @param registeredTypes 类型编号到类型的映射，编号写入了缓存数据，一经使用不能修改
+	 * @param compressThreshold 超过该字节数的值使用LZ4压缩
+	 * @param writeBinary 是否以二进制格式写入，为false时只写JSON格式，但两种格式都能读取
+	 * @param jsonSerializer 原来的JSON序列化器，用于未注册的类型以及读取旧格式的值
+	 */
+	public BinaryRedisSerializer(Map<Integer, Class<?>> registeredTypes, int compressThreshold, boolean writeBinary,
+			RedisSerializer<Object> jsonSerializer) {
+		registeredTypes.forEach((id, type) -> {
+			if (id <= 0 || id > Short.MAX_VALUE) {
+				throw new IllegalArgumentException("类型编号超出范围: " + id);
+			}
+			this.typeIds.put(type, id.shortValue());
+			this.types.put(id.shortValue(), type);
+		});
+		this.compressThreshold = compressThreshold;
+		this.writeBinary = writeBinary;
+		this.jsonSerializer = jsonSerializer;
+		SmileFactory smileFactory = SmileFactory.builder()
+				// 值的类型由头部的类型编号确定，Smile自身的4字节头可以省略
+				.disable(SmileGenerator.Feature.WRITE_HEADER)
+				.disable(SmileParser.Feature.REQUIRE_HEADER)
+				.build();
+		this.smileMapper = new ObjectMapper(smileFactory);
+		this.smileMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+		this.smileMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+		this.smileMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+	}
+
+	@Override
+	public byte[] serialize(Object value) throws SerializationException {
+		if (value == null) {
+			return new byte[0];
+		}
+		Short typeId = this.typeIds.get(value.getClass());
+		if (!this.writeBinary || typeId == null) {
+			return this.jsonSerializer.serialize(value);
+		}
+		byte[] data;
+		try {
+			data = this.smileMapper.writeValueAsBytes(value);
+		} catch (IOException e) {
+			throw new SerializationException("序列化失败: " + value.getClass().getName(), e);
+		}
+		if (data.length <= this.compressThreshold) {
+			return ByteBuffer.allocate(HEADER_LENGTH + data.length)
+					.put(VERSION).put((byte) 0).putShort(typeId).put(data).array();
+		}
+		byte[] compressed = new byte[COMPRESSOR.maxCompressedLength(data.length)];
+		int compressedLength = COMPRESSOR.compress(data, 0, data.length, compressed, 0, compressed.length);
+		return ByteBuffer.allocate(HEADER_LENGTH + 4 + compressedLength)
+				.put(VERSION).put(FLAG_LZ4).putShort(typeId).putInt(data.length)
+				.put(compressed, 0, compressedLength).array();
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		if (bytes[0] != VERSION) {
+			// 旧的JSON格式
+			return this.jsonSerializer.deserialize(bytes);
+		}
+		if (bytes.length < HEADER_LENGTH) {
+			throw new SerializationException("数据长度不足: " + bytes.length);
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		buffer.get();
+		byte flags = buffer.get();
+		short typeId = buffer.getShort();
+		Class<?> type = this.types.get(typeId);
+		if (type == null) {
+			throw new SerializationException("未注册的类型编号: " + typeId);
+		}
+		byte[] data;
+		int offset;
+		int length;
+		if ((flags & FLAG_LZ4) != 0) {
+			try {
+				length = buffer.getInt();
+				data = new byte[length];
+				DECOMPRESSOR.decompress(bytes, buffer.position(), data, 0, length);
+			} catch (RuntimeException e) {
+				// 数据损坏或被截断
+				throw new SerializationException("解压失败: " + type.getName(), e);
+			}
+			offset = 0;
+		} else {
+			data = bytes;
+			offset = buffer.position();
+			length = bytes.length - offset;
+		}
+		try {
+			return this.smileMapper.readValue(data, offset, length, type);
+		} catch (IOException e) {
+			throw new SerializationException("反序列化失败: " + type.getName(), e);
+		}
+	}
+}
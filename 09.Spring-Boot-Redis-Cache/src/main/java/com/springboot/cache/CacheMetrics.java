@@ -0,0 +1,181 @@
+package com.springboot.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * 按缓存名统计命中、未命中、加载耗时、淘汰和过期次数，并抽样统计热点键
+ * 指标同时注册到Micrometer：
+ * app.cache.access（tag result=hit/miss）、app.cache.hit.ratio、app.cache.load（带直方图和百分位）、app.cache.removals（tag cause=evicted/expired）
+ * 使用app.前缀，与Spring Boot为缓存注册的cache.gets、cache.removals等指标区分，
+ * 同名指标的tag不一致时Prometheus等后端会丢弃其中一个
+ */
+@Component
+public class CacheMetrics {
+
+	private static final Duration[] LOAD_BUCKETS = { Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+			Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1) };
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * 进入热点键统计的访问比例
+	 */
+	@Value("${cache.stats.sample-rate:0.1}")
+	private double sampleRate;
+
+	/**
+	 * 统计端点显示的热点键个数
+	 */
+	@Value("${cache.stats.top-k:20}")
+	private int topK;
+
+	/**
+	 * 每个缓存保留的热点键个数，用于保存热点键快照，不小于top-k
+	 */
+	@Value("${cache.stats.tracked-keys:1000}")
+	private int trackedKeys;
+
+	@Value("${cache.stats.sketch-width:2048}")
+	private int sketchWidth;
+
+	private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+	public void recordHit(String cacheName, Object key) {
+		Stats stats = stats(cacheName);
+		stats.hits.increment();
+		sample(stats, key);
+	}
+
+	public void recordMiss(String cacheName, Object key) {
+		Stats stats = stats(cacheName);
+		stats.misses.increment();
+		sample(stats, key);
+	}
+
+	public void recordLoad(String cacheName, long nanos) {
+		stats(cacheName).load.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordRemoval(String cacheName, boolean expired) {
+		Stats stats = stats(cacheName);
+		(expired ? stats.expiries : stats.evictions).increment();
+	}
+
+	/**
+	 * 各缓存当前的统计结果
+	 */
+	public Map<String, Object> snapshot() {
+		Map<String, Object> caches = new LinkedHashMap<>();
+		this.stats.forEach((name, stats) -> caches.put(name, stats.snapshot(this.sampleRate, this.topK)));
+		return caches;
+	}
+
+	/**
+	 * 各缓存的热点键，按估计访问次数从多到少排列
+	 */
+	public Map<String, List<String>> hotKeys() {
+		Map<String, List<String>> hotKeys = new LinkedHashMap<>();
+		this.stats.forEach((name, stats) -> hotKeys.put(name,
+				stats.hotKeys.topKeys().stream().map(Map.Entry::getKey).toList()));
+		return hotKeys;
+	}
+
+	private void sample(Stats stats, Object key) {
+		if (this.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.sampleRate) {
+			stats.hotKeys.add(String.valueOf(key));
+		}
+	}
+
+	private Stats stats(String cacheName) {
+		return this.stats.computeIfAbsent(cacheName, name -> new Stats(name, this.meterRegistry,
+				new HotKeySketch(this.sketchWidth, Math.max(this.topK, this.trackedKeys))));
+	}
+
+	private static class Stats {
+
+		private final Counter hits;
+		private final Counter misses;
+		private final Counter evictions;
+		private final Counter expiries;
+		private final Timer load;
+		private final HotKeySketch hotKeys;
+
+		Stats(String cacheName, MeterRegistry registry, HotKeySketch hotKeys) {
+			this.hits = Counter.builder("app.cache.access").tag("cache", cacheName).tag("result", "hit").register(registry);
+			this.misses = Counter.builder("app.cache.access").tag("cache", cacheName).tag("result", "miss").register(registry);
+			this.evictions = Counter.builder("app.cache.removals").tag("cache", cacheName).tag("cause", "evicted")
+					.register(registry);
+			this.expiries = Counter.builder("app.cache.removals").tag("cache", cacheName).tag("cause", "expired")
+					.register(registry);
+			this.load = Timer.builder("app.cache.load").description("缓存未命中时加载数据的耗时").tag("cache", cacheName)
+					.serviceLevelObjectives(LOAD_BUCKETS)
+					.publishPercentiles(0.5, 0.95, 0.99)
+					.register(registry);
+			Gauge.builder("app.cache.hit.ratio", this, Stats::hitRatio).tag("cache", cacheName).register(registry);
+			this.hotKeys = hotKeys;
+		}
+
+		double hitRatio() {
+			double total = this.hits.count() + this.misses.count();
+			return total == 0 ? 0 : this.hits.count() / total;
+		}
+
+		Map<String, Object> snapshot(double sampleRate, int topK) {
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("hits", (long) this.hits.count());
+			result.put("misses", (long) this.misses.count());
+			result.put("hitRatio", hitRatio());
+			result.put("evictions", (long) this.evictions.count());
+			result.put("expiries", (long) this.expiries.count());
+
+			HistogramSnapshot histogram = this.load.takeSnapshot();
+			Map<String, Object> load = new LinkedHashMap<>();
+			load.put("count", histogram.count());
+			load.put("meanMillis", histogram.mean(TimeUnit.MILLISECONDS));
+			load.put("maxMillis", histogram.max(TimeUnit.MILLISECONDS));
+			Map<String, Object> percentiles = new LinkedHashMap<>();
+			for (ValueAtPercentile percentile : histogram.percentileValues()) {
+				percentiles.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+			}
+			load.put("percentilesMillis", percentiles);
+			// 各桶为累计次数：耗时不超过该毫秒数的加载次数
+			Map<String, Object> buckets = new LinkedHashMap<>();
+			for (CountAtBucket bucket : histogram.histogramCounts()) {
+				buckets.put("le" + (long) bucket.bucket(TimeUnit.MILLISECONDS), (long) bucket.count());
+			}
+			load.put("histogram", buckets);
+			result.put("load", load);
+
+			List<Map<String, Object>> hotKeys = new ArrayList<>();
+			List<Map.Entry<String, Long>> topKeys = this.hotKeys.topKeys();
+			for (Map.Entry<String, Long> entry : topKeys.subList(0, Math.min(topK, topKeys.size()))) {
+				Map<String, Object> hotKey = new LinkedHashMap<>();
+				hotKey.put("key", entry.getKey());
+				hotKey.put("estimatedAccesses", Math.round(entry.getValue() / Math.min(sampleRate, 1)));
+				hotKeys.add(hotKey);
+			}
+			result.put("hotKeys", hotKeys);
+			return result;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.springboot.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * 缓存统计，访问路径/actuator/cachestats
+ * caches为缓存注解的访问统计，见CacheMetrics；managers为每个缓存管理器中各缓存自身的统计
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+	@Autowired
+	private CacheMetrics cacheMetrics;
+
+	@Autowired
+	private Map<String, CacheManager> cacheManagers;
+
+	@ReadOperation
+	public Map<String, Object> cacheStats() {
+		Map<String, Object> managers = new LinkedHashMap<>();
+		this.cacheManagers.forEach((beanName, cacheManager) -> {
+			Map<String, Object> caches = new LinkedHashMap<>();
+			for (String cacheName : cacheManager.getCacheNames()) {
+				Cache cache = cacheManager.getCache(cacheName);
+				if (cache != null) {
+					caches.put(cacheName, describe(cache));
+				}
+			}
+			Map<String, Object> manager = new LinkedHashMap<>();
+			manager.put("type", cacheManager.getClass().getSimpleName());
+			manager.put("caches", caches);
+			managers.put(beanName, manager);
+		});
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("caches", this.cacheMetrics.snapshot());
+		result.put("managers", managers);
+		return result;
+	}
+
+	private Map<String, Object> describe(Cache cache) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("type", cache.getClass().getSimpleName());
+		if (cache instanceof RefreshAheadCache refreshAheadCache) {
+			result.put("delegate", describe(refreshAheadCache.getDelegate()));
+		} else if (cache instanceof TwoLevelCache twoLevelCache) {
+			CacheStats stats = twoLevelCache.getLocalCache().stats();
+			Map<String, Object> local = new LinkedHashMap<>();
+			local.put("size", twoLevelCache.getLocalCache().estimatedSize());
+			local.put("hits", stats.hitCount());
+			local.put("misses", stats.missCount());
+			local.put("hitRatio", stats.hitRate());
+			local.put("evictions", stats.evictionCount());
+			result.put("local", local);
+			result.put("remote", describe(twoLevelCache.getRemoteCache()));
+		} else if (cache instanceof RedisCache redisCache) {
+			// Redis中的过期和淘汰在服务端发生，这里只有本节点发出的命令统计
+			CacheStatistics stats = redisCache.getStatistics();
+			result.put("gets", stats.getGets());
+			result.put("hits", stats.getHits());
+			result.put("misses", stats.getMisses());
+			result.put("puts", stats.getPuts());
+			result.put("deletes", stats.getDeletes());
+		}
+		return result;
+	}
+}
@@ -0,0 +1,119 @@
+package com.springboot.cache;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * 两级缓存：本地Caffeine缓存在前，Redis缓存在后
+ * 读取时先查本地缓存，未命中再查Redis并回填本地缓存；
+ * 写入和删除时先更新Redis和本地缓存，再通知其他节点删除各自的本地缓存
+ */
+public class TwoLevelCache implements Cache {
+
+	private final String name;
+	private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+	private final Cache remote;
+	private final TwoLevelCacheManager manager;
+
+	TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+			TwoLevelCacheManager manager) {
+		this.name = name;
+		this.local = local;
+		this.remote = remote;
+		this.manager = manager;
+	}
+
+	/**
+	 * 本地缓存的键统一转换为字符串，与Redis缓存的键以及失效通知中的键保持一致
+	 */
+	static String localKey(Object key) {
+		return String.valueOf(key);
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.remote.getNativeCache();
+	}
+
+	public com.github.benmanes.caffeine.cache.Cache<String, Object> getLocalCache() {
+		return this.local;
+	}
+
+	public Cache getRemoteCache() {
+		return this.remote;
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		String localKey = localKey(key);
+		Object value = this.local.getIfPresent(localKey);
+		if (value != null) {
+			return new SimpleValueWrapper(value);
+		}
+		ValueWrapper wrapper = this.remote.get(key);
+		if (wrapper != null && wrapper.get() != null) {
+			this.local.put(localKey, wrapper.get());
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = wrapper != null ? wrapper.get() : null;
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException("缓存值的类型不是[" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		String localKey = localKey(key);
+		Object value = this.local.getIfPresent(localKey);
+		if (value != null) {
+			return (T) value;
+		}
+		T loaded = this.remote.get(key, valueLoader);
+		if (loaded != null) {
+			this.local.put(localKey, loaded);
+		}
+		return loaded;
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		this.remote.put(key, value);
+		String localKey = localKey(key);
+		if (value != null) {
+			this.local.put(localKey, value);
+		} else {
+			this.local.invalidate(localKey);
+		}
+		this.manager.publishEvict(this.name, localKey);
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.remote.evict(key);
+		String localKey = localKey(key);
+		this.local.invalidate(localKey);
+		this.manager.publishEvict(this.name, localKey);
+	}
+
+	@Override
+	public void clear() {
+		this.remote.clear();
+		this.local.invalidateAll();
+		this.manager.publishClear(this.name);
+	}
+}
@@ -0,0 +1,174 @@
+package com.springboot.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * 两级缓存管理器，为Redis缓存管理器中的每个缓存加一层本地Caffeine缓存
+ * 各节点通过Redis发布订阅广播失效消息，收到其他节点的消息后删除本地缓存中对应的键，
+ * 本地缓存同时设置较短的过期时间，消息丢失时也只会在有限时间内读到旧值
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+	/**
+	 * 失效消息的频道
+	 */
+	public static final String CHANNEL = "cache:invalidate";
+
+	/**
+	 * 失效消息格式：节点标识|缓存名|键，键为空表示清空整个缓存
+	 */
+	private static final char SEPARATOR = '|';
+
+	/**
+	 * 以该字符开头的消息表示其他节点新增了键，格式：+节点标识|缓存名|键；
+	 * 不认识该前缀的旧节点会把它当作其他节点的失效消息，只是多删除一次本地缓存
+	 */
+	private static final char ADDED = '+';
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final CacheManager remoteCacheManager;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final long localMaximumSize;
+	private final long localExpireAfterWriteSeconds;
+	private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+	private volatile BiConsumer<String, RemovalCause> localEvictionListener;
+	private final Map<String, Consumer<String>> keyAddedListeners = new ConcurrentHashMap<>();
+
+	/**
+	 * @param remoteCacheManager Redis缓存管理器
+	 * @param stringRedisTemplate 用于发布失效消息
+	 * @param localMaximumSize 每个本地缓存的最大条数
+	 * @param localExpireAfterWriteSeconds 本地缓存写入后的过期时间（秒）
+	 */
+	public TwoLevelCacheManager(CacheManager remoteCacheManager, StringRedisTemplate stringRedisTemplate,
+			long localMaximumSize, long localExpireAfterWriteSeconds) {
+		this.remoteCacheManager = remoteCacheManager;
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.localMaximumSize = localMaximumSize;
+		this.localExpireAfterWriteSeconds = localExpireAfterWriteSeconds;
+	}
+
+	/**
+	 * 本地缓存因容量或过期被淘汰时的回调，参数为缓存名和淘汰原因
+	 */
+	public void setLocalEvictionListener(BiConsumer<String, RemovalCause> localEvictionListener) {
+		this.localEvictionListener = localEvictionListener;
+	}
+
+	/**
+	 * 其他节点通过publishAdded通知新增键时的回调，参数为键
+	 */
+	public void addKeyAddedListener(String cacheName, Consumer<String> listener) {
+		this.keyAddedListeners.put(cacheName, listener);
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		return this.caches.computeIfAbsent(name, cacheName -> {
+			Cache remote = this.remoteCacheManager.getCache(cacheName);
+			if (remote == null) {
+				return null;
+			}
+			com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+					.maximumSize(this.localMaximumSize)
+					.expireAfterWrite(this.localExpireAfterWriteSeconds, TimeUnit.SECONDS)
+					.recordStats()
+					.evictionListener((key, value, cause) -> {
+						BiConsumer<String, RemovalCause> listener = this.localEvictionListener;
+						if (listener != null) {
+							listener.accept(cacheName, cause);
+						}
+					})
+					.build();
+			return new TwoLevelCache(cacheName, local, remote, this);
+		});
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.remoteCacheManager.getCacheNames();
+	}
+
+	void publishEvict(String cacheName, String key) {
+		publish(this.nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+	}
+
+	void publishClear(String cacheName) {
+		publish(this.nodeId + SEPARATOR + cacheName + SEPARATOR);
+	}
+
+	/**
+	 * 通知其他节点新增了键，例如用于更新各节点的布隆过滤器
+	 */
+	public void publishAdded(String cacheName, String key) {
+		publish(ADDED + this.nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+	}
+
+	private void publish(String message) {
+		try {
+			this.stringRedisTemplate.convertAndSend(CHANNEL, message);
+		} catch (RuntimeException e) {
+			// 发布失败不影响本次写入，其他节点的本地缓存会在过期后恢复一致
+			log.warn("发布缓存失效消息失败: {}", message, e);
+		}
+	}
+
+	/**
+	 * 处理其他节点的失效消息和新增键消息，自己发出的消息忽略
+	 */
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String body = new String(message.getBody(), StandardCharsets.UTF_8);
+		boolean added = !body.isEmpty() && body.charAt(0) == ADDED;
+		if (added) {
+			body = body.substring(1);
+		}
+		int first = body.indexOf(SEPARATOR);
+		int second = first < 0 ? -1 : body.indexOf(SEPARATOR, first + 1);
+		if (second < 0) {
+			log.warn("无法识别的缓存失效消息: {}", body);
+			return;
+		}
+		if (body.startsWith(this.nodeId + SEPARATOR)) {
+			return;
+		}
+		String cacheName = body.substring(first + 1, second);
+		String key = body.substring(second + 1);
+		if (added) {
+			Consumer<String> listener = this.keyAddedListeners.get(cacheName);
+			if (listener != null && !key.isEmpty()) {
+				listener.accept(key);
+			}
+			return;
+		}
+		TwoLevelCache cache = this.caches.get(cacheName);
+		if (cache == null) {
+			return;
+		}
+		if (key.isEmpty()) {
+			cache.getLocalCache().invalidateAll();
+		} else {
+			cache.getLocalCache().invalidate(key);
+		}
+	}
+}
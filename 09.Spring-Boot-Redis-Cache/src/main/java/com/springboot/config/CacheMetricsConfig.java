@@ -0,0 +1,29 @@
+package com.springboot.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Configuration;
+
+import com.springboot.cache.CacheMetrics;
+import com.springboot.cache.InstrumentedCacheResolver;
+
+/**
+ * 缓存注解通过InstrumentedCacheResolver访问主缓存管理器，统计命中率、加载耗时和热点键
+ */
+@Configuration
+public class CacheMetricsConfig implements CachingConfigurer {
+
+	@Autowired
+	private ObjectProvider<CacheManager> cacheManager;
+
+	@Autowired
+	private ObjectProvider<CacheMetrics> cacheMetrics;
+
+	@Override
+	public CacheResolver cacheResolver() {
+		return new InstrumentedCacheResolver(this.cacheManager.getObject(), this.cacheMetrics.getObject());
+	}
+}
@@ -6,25 +6,59 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.springboot.bean.Student;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.springboot.cache.BinaryRedisSerializer;
+import com.springboot.cache.CacheMetrics;
+import com.springboot.cache.RefreshAheadCacheManager;
+import com.springboot.cache.TwoLevelCacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching // 显式启用缓存注解支持
 public class RedisConfig {
 
+    /**
+     * 以二进制格式序列化的类型及其编号，编号写入了缓存数据，只能新增不能修改
+     */
+    private static final Map<Integer, Class<?>> BINARY_TYPES = Map.of(1, Student.class);
+
+    /**
+     * Redis 缓存过期时间
+     */
+    public static final Duration CACHE_TTL = Duration.ofSeconds(10000);
+
+    /**
+     * 超过该字节数的缓存值使用LZ4压缩
+     */
+    @Value("${cache.serializer.compress-threshold:512}")
+    private int compressThreshold;
+
+    /**
+     * 是否以二进制格式写入，默认false只写JSON；
+     * 本版本在所有节点上线、都能读取二进制格式后，再把cache.serializer.write-binary改为true作为下一步发布
+     */
+    @Value("${cache.serializer.write-binary:false}")
+    private boolean writeBinary;
+
     /**
      * 安全的多态类型验证器（防止反序列化漏洞）
      */
@@ -56,8 +90,8 @@ public class RedisConfig {
                 JsonTypeInfo.As.PROPERTY
         );
 
-        GenericJackson2JsonRedisSerializer valueSerializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
+        BinaryRedisSerializer valueSerializer = new BinaryRedisSerializer(BINARY_TYPES, compressThreshold,
+                writeBinary, new GenericJackson2JsonRedisSerializer(objectMapper));
 
         template.setValueSerializer(valueSerializer);
         template.setHashValueSerializer(valueSerializer);
@@ -67,25 +101,77 @@ public class RedisConfig {
     }
 
     /**
-     * 配置 Redis 缓存管理器（带安全配置）
+     * 缓存注解使用的缓存管理器：在两级缓存外加上防击穿和提前刷新，需要配合 @Cacheable(sync = true)
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory factory) {
+    @Primary
+    public RefreshAheadCacheManager cacheManager(TwoLevelCacheManager twoLevelCacheManager,
+            @Value("${cache.refresh.ratio:0.8}") double ratio,
+            @Value("${cache.refresh.beta:1.0}") double beta,
+            @Value("${cache.refresh.max-tracked-keys:10000}") long maxTrackedKeys) {
+        return new RefreshAheadCacheManager(twoLevelCacheManager,
+                new RefreshAheadCacheManager.Settings(CACHE_TTL, ratio, beta, maxTrackedKeys));
+    }
+
+    /**
+     * 配置两级缓存管理器：本地 Caffeine 缓存 + Redis 缓存
+     */
+    @Bean
+    public TwoLevelCacheManager twoLevelCacheManager(RedisConnectionFactory factory, StringRedisTemplate stringRedisTemplate,
+            BinaryRedisSerializer cacheValueSerializer, CacheMetrics cacheMetrics,
+            @Value("${cache.local.maximum-size:10000}") long localMaximumSize,
+            @Value("${cache.local.expire-after-write-seconds:60}") long localExpireAfterWriteSeconds) {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager(factory, cacheValueSerializer),
+                stringRedisTemplate, localMaximumSize, localExpireAfterWriteSeconds);
+        cacheManager.setLocalEvictionListener((cacheName, cause) ->
+                cacheMetrics.recordRemoval(cacheName, cause == RemovalCause.EXPIRED));
+        return cacheManager;
+    }
+
+    /**
+     * 订阅其他节点发出的缓存失效消息
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory factory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.CHANNEL));
+        return container;
+    }
+
+    /**
+     * 缓存值序列化器，批量读写学生缓存时直接访问Redis也使用它，保证与缓存注解写入的格式一致
+     */
+    @Bean
+    public BinaryRedisSerializer cacheValueSerializer() {
+        return new BinaryRedisSerializer(BINARY_TYPES, compressThreshold, writeBinary,
+                new GenericJackson2JsonRedisSerializer(createObjectMapper()));
+    }
+
+    /**
+     * 配置 Redis 缓存管理器（带安全配置），作为两级缓存的第二级
+     */
+    private CacheManager redisCacheManager(RedisConnectionFactory factory, BinaryRedisSerializer valueSerializer) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 // Key 序列化
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 // Value 序列化
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer(createObjectMapper())))
+                        .fromSerializer(valueSerializer))
                 // 缓存过期时间
-                .entryTtl(Duration.ofSeconds(10000))
+                .entryTtl(CACHE_TTL)
                 // 禁止缓存空值
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(factory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(factory)
                 .cacheDefaults(config)
+                // 命中、未命中等统计，见/actuator/cachestats
+                .enableStatistics()
                 .build();
+        redisCacheManager.initializeCaches();
+        return redisCacheManager;
     }
 
     /**
@@ -0,0 +1,31 @@
+package com.springboot.controller;
+
+import jakarta.annotation.Resource;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.springboot.bean.Student;
+import com.springboot.service.StudentService;
+
+/**
+ * 学生信息的REST控制器
+ */
+@RestController
+public class StudentController {
+
+	@Resource
+	private StudentService studentService;
+
+	/**
+	 * 按学号批量查询学生，例如 /querystudents?snos=001,002,003
+	 * 返回结果按传入学号的顺序排列，不存在的学号不会出现在结果中
+	 */
+	@RequestMapping("querystudents")
+	public List<Student> queryStudents(@RequestParam List<String> snos) {
+		return this.studentService.queryStudentsBySnos(snos);
+	}
+}
@@ -1,5 +1,8 @@
 package com.springboot.service;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
@@ -9,12 +12,20 @@ import com.springboot.bean.Student;
 
 @CacheConfig(cacheNames = "student")
 public interface StudentService {
+	@CachePut(key = "#p0.sno")
+	Student add(Student student);
+
 	@CachePut(key = "#p0.sno")
 	Student update(Student student);
 
 	@CacheEvict(key = "#p0", allEntries = true)
 	void deleteStudentBySno(String sno);
 	
-	@Cacheable(key = "#p0")
+	// sync = true 时同一学号并发未命中只查询一次数据库，见RefreshAheadCache
+	// 布隆过滤器判断学号不存在时不访问缓存，方法直接返回null，见StudentKeyGuard
+	@Cacheable(key = "#p0", sync = true, condition = "@studentKeyGuard.mightExist(#p0)")
 	Student queryStudentBySno(String sno);
+
+	// 批量查询不经过缓存注解，由实现类直接批量读写本地缓存和Redis
+	List<Student> queryStudentsBySnos(Collection<String> snos);
 }
@@ -1,18 +1,74 @@
 package com.springboot.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Repository;
 
 import com.springboot.bean.Student;
+import com.springboot.cache.BinaryRedisSerializer;
+import com.springboot.cache.CacheMetrics;
+import com.springboot.cache.StudentKeyGuard;
+import com.springboot.cache.TwoLevelCache;
+import com.springboot.cache.TwoLevelCacheManager;
+import com.springboot.config.RedisConfig;
 import com.springboot.mapper.StudentMapper;
 import com.springboot.service.StudentService;
 
 @Repository("studentService")
 public class StudentServiceImpl implements StudentService{
 
+	private static final String CACHE_NAME = "student";
+
+	/**
+	 * 单条IN查询的最大学号个数
+	 */
+	private static final int MAX_IN_SIZE = 1000;
+
 	@Autowired
 	private StudentMapper studentMapper;
+
+	@Autowired
+	private TwoLevelCacheManager twoLevelCacheManager;
+
+	@Autowired
+	private StringRedisTemplate stringRedisTemplate;
+
+	@Autowired
+	private BinaryRedisSerializer cacheValueSerializer;
+
+	@Autowired
+	private CacheMetrics cacheMetrics;
+
+	@Autowired
+	private StudentKeyGuard studentKeyGuard;
+
+	/**
+	 * 批量回填Redis时在缓存过期时间上随机增加的最大秒数，避免同一批键同时过期
+	 */
+	@Value("${cache.bulk.ttl-jitter-seconds:600}")
+	private long ttlJitterSeconds;
 	
+	@Override
+	public Student add(Student student) {
+		this.studentMapper.add(student);
+		this.studentKeyGuard.added(student.getSno());
+		return student;
+	}
+
 	@Override
 	public Student update(Student student) {
 		this.studentMapper.update(student);
@@ -22,11 +78,134 @@ public class StudentServiceImpl implements StudentService{
 	@Override
 	public void deleteStudentBySno(String sno) {
 		this.studentMapper.deleteStudentBySno(sno);
+		this.studentKeyGuard.missing(sno);
 	}
 
 	@Override
 	public Student queryStudentBySno(String sno) {
-		return this.studentMapper.queryStudentBySno(sno);
+		if (!this.studentKeyGuard.mightExist(sno)) {
+			return null;
+		}
+		Student student = this.studentMapper.queryStudentBySno(sno);
+		if (student == null) {
+			this.studentKeyGuard.missing(sno);
+		}
+		return student;
+	}
+
+	/**
+	 * 先用StudentKeyGuard去掉一定不存在的学号，再依次查询本地缓存、Redis（一次MGET）和数据库（IN查询），
+	 * 数据库查到的学生通过管道SET NX写回Redis并放入本地缓存，已被其他请求写入的新值不会被覆盖
+	 */
+	@Override
+	public List<Student> queryStudentsBySnos(Collection<String> snos) {
+		List<String> keys = new ArrayList<>(new LinkedHashSet<>(snos));
+		keys.removeIf(sno -> !this.studentKeyGuard.mightExist(sno));
+		Map<String, Student> found = new HashMap<>(keys.size() * 2);
+		TwoLevelCache cache = (TwoLevelCache) this.twoLevelCacheManager.getCache(CACHE_NAME);
+
+		List<String> misses = new ArrayList<>();
+		for (String sno : keys) {
+			Object value = cache.getLocalCache().getIfPresent(sno);
+			if (value instanceof Student student) {
+				found.put(sno, student);
+				this.cacheMetrics.recordHit(CACHE_NAME, sno);
+			} else {
+				misses.add(sno);
+			}
+		}
+
+		if (!misses.isEmpty()) {
+			misses = multiGet(cache, misses, found);
+		}
+
+		if (!misses.isEmpty()) {
+			List<Student> loaded = new ArrayList<>(misses.size());
+			for (String sno : misses) {
+				this.cacheMetrics.recordMiss(CACHE_NAME, sno);
+			}
+			for (int from = 0; from < misses.size(); from += MAX_IN_SIZE) {
+				List<String> chunk = misses.subList(from, Math.min(from + MAX_IN_SIZE, misses.size()));
+				long start = System.nanoTime();
+				loaded.addAll(this.studentMapper.queryStudentsBySnos(chunk));
+				this.cacheMetrics.recordLoad(CACHE_NAME, System.nanoTime() - start);
+			}
+			multiSet(cache, loaded);
+			for (Student student : loaded) {
+				found.put(student.getSno(), student);
+			}
+			for (String sno : misses) {
+				if (!found.containsKey(sno)) {
+					this.studentKeyGuard.missing(sno);
+				}
+			}
+		}
+
+		List<Student> students = new ArrayList<>(found.size());
+		for (String sno : keys) {
+			Student student = found.get(sno);
+			if (student != null) {
+				students.add(student);
+			}
+		}
+		return students;
+	}
+
+	/**
+	 * 一次MGET读取Redis，命中的学生放入本地缓存，返回仍未命中的学号
+	 */
+	private List<String> multiGet(TwoLevelCache cache, List<String> snos, Map<String, Student> found) {
+		byte[][] redisKeys = new byte[snos.size()][];
+		for (int i = 0; i < redisKeys.length; i++) {
+			redisKeys[i] = redisKey(snos.get(i));
+		}
+		List<byte[]> values = this.stringRedisTemplate.execute(
+				(RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(redisKeys));
+
+		List<String> misses = new ArrayList<>();
+		for (int i = 0; i < snos.size(); i++) {
+			byte[] bytes = values != null ? values.get(i) : null;
+			Object value = bytes != null ? this.cacheValueSerializer.deserialize(bytes) : null;
+			if (value instanceof Student student) {
+				found.put(snos.get(i), student);
+				cache.getLocalCache().put(snos.get(i), student);
+				this.cacheMetrics.recordHit(CACHE_NAME, snos.get(i));
+			} else {
+				misses.add(snos.get(i));
+			}
+		}
+		return misses;
+	}
+
+	/**
+	 * 通过管道批量写回Redis，每个键的过期时间加上随机抖动；
+	 * 键已存在时SET NX不写入，说明期间有@CachePut等写入了更新的值，这些键也不放入本地缓存
+	 */
+	private void multiSet(TwoLevelCache cache, List<Student> students) {
+		if (students.isEmpty()) {
+			return;
+		}
+		long ttlSeconds = RedisConfig.CACHE_TTL.getSeconds();
+		List<Object> results = this.stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			for (Student student : students) {
+				long jitter = this.ttlJitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(this.ttlJitterSeconds + 1) : 0;
+				connection.stringCommands().set(redisKey(student.getSno()), this.cacheValueSerializer.serialize(student),
+						Expiration.seconds(ttlSeconds + jitter), SetOption.ifAbsent());
+			}
+			return null;
+		});
+		for (int i = 0; i < students.size(); i++) {
+			if (i < results.size() && Boolean.TRUE.equals(results.get(i))) {
+				cache.getLocalCache().put(students.get(i).getSno(), students.get(i));
+			}
+		}
+	}
+
+	/**
+	 * 与RedisCacheManager默认的键格式一致：缓存名::键
+	 */
+	private static byte[] redisKey(String sno) {
+		return (CacheKeyPrefix.simple().compute(CACHE_NAME) + sno).getBytes(StandardCharsets.UTF_8);
 	}
 
 }
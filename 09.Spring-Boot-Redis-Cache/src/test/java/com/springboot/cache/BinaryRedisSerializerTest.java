@@ -0,0 +1,129 @@
+package com.springboot.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.springboot.bean.Student;
+
+/**
+ * 二进制、LZ4压缩和JSON三种格式都能还原，开关关闭时写出的仍是原来的JSON，
+ * 切换前写入Redis的JSON值也能被新的序列化器读出
+ */
+public class BinaryRedisSerializerTest {
+
+	private static final int COMPRESS_THRESHOLD = 512;
+
+	private final RedisSerializer<Object> json = StudentSerializerBenchmark.serializer("json");
+
+	@Test
+	public void binaryRoundTrip() {
+		BinaryRedisSerializer serializer = serializer(true);
+		Student student = student("KangKang");
+
+		byte[] bytes = serializer.serialize(student);
+
+		assertEquals(BinaryRedisSerializer.VERSION, bytes[0]);
+		// 未压缩
+		assertEquals(0, bytes[1]);
+		assertTrue(bytes.length < this.json.serialize(student).length);
+		assertStudent(student, serializer.deserialize(bytes));
+	}
+
+	@Test
+	public void largeValueIsCompressed() {
+		BinaryRedisSerializer serializer = serializer(true);
+		Student student = student("KangKang ".repeat(200));
+
+		byte[] bytes = serializer.serialize(student);
+
+		assertEquals(BinaryRedisSerializer.VERSION, bytes[0]);
+		assertNotEquals(0, bytes[1] & 1);
+		assertTrue(bytes.length < COMPRESS_THRESHOLD);
+		assertStudent(student, serializer.deserialize(bytes));
+	}
+
+	@Test
+	public void writesJsonWhenBinaryIsDisabled() {
+		BinaryRedisSerializer serializer = serializer(false);
+		Student student = student("KangKang");
+
+		byte[] bytes = serializer.serialize(student);
+
+		assertArrayEquals(this.json.serialize(student), bytes);
+		assertStudent(student, serializer.deserialize(bytes));
+	}
+
+	@Test
+	public void readsLegacyJson() {
+		Student student = student("KangKang ".repeat(200));
+		byte[] legacy = this.json.serialize(student);
+
+		assertStudent(student, serializer(true).deserialize(legacy));
+		assertStudent(student, serializer(false).deserialize(legacy));
+	}
+
+	@Test
+	public void unregisteredTypeFallsBackToJson() {
+		BinaryRedisSerializer serializer = serializer(true);
+		Map<String, String> value = new HashMap<>();
+		value.put("sno", "001");
+
+		byte[] bytes = serializer.serialize(value);
+
+		assertArrayEquals(this.json.serialize(value), bytes);
+		assertEquals(value, serializer.deserialize(bytes));
+	}
+
+	@Test
+	public void corruptCompressedValueThrowsSerializationException() {
+		BinaryRedisSerializer serializer = serializer(true);
+		byte[] bytes = serializer.serialize(student("KangKang ".repeat(200)));
+
+		// 截断的压缩数据
+		assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)));
+		// 只有头部
+		assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, 6)));
+		assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(bytes, 2)));
+	}
+
+	@Test
+	public void nullIsEmpty() {
+		BinaryRedisSerializer serializer = serializer(true);
+
+		assertEquals(0, serializer.serialize(null).length);
+		assertNull(serializer.deserialize(new byte[0]));
+		assertNull(serializer.deserialize(null));
+	}
+
+	private BinaryRedisSerializer serializer(boolean writeBinary) {
+		return new BinaryRedisSerializer(Map.of(1, Student.class), COMPRESS_THRESHOLD, writeBinary, this.json);
+	}
+
+	private static Student student(String name) {
+		Student student = new Student();
+		student.setSno("001");
+		student.setName(name);
+		student.setSex("M");
+		return student;
+	}
+
+	private static void assertStudent(Student expected, Object actual) {
+		Student student = assertInstanceOf(Student.class, actual);
+		assertEquals(expected.getSno(), student.getSno());
+		assertEquals(expected.getName(), student.getName());
+		assertEquals(expected.getSex(), student.getSex());
+	}
+}
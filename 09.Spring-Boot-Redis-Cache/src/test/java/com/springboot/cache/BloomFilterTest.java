@@ -0,0 +1,47 @@
+package com.springboot.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 放入过的键一定命中；没放入过的键误判率接近构造时给定的fpp
+ */
+public class BloomFilterTest {
+
+	private static final int INSERTIONS = 10000;
+
+	@Test
+	public void noFalseNegatives() {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.put(String.format("%08d", i));
+		}
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(filter.mightContain(String.format("%08d", i)), "漏判: " + i);
+		}
+	}
+
+	@Test
+	public void falsePositiveRateIsNearFpp() {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.put("in-" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < INSERTIONS; i++) {
+			if (filter.mightContain("out-" + i)) {
+				falsePositives++;
+			}
+		}
+		// 期望约100次，留出3倍余量
+		assertTrue(falsePositives < INSERTIONS * 0.03, "误判次数: " + falsePositives);
+	}
+
+	@Test
+	public void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+		assertFalse(filter.mightContain("001"));
+	}
+}
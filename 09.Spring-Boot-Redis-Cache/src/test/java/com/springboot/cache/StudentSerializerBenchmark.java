@@ -0,0 +1,101 @@
+package com.springboot.cache;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.springboot.bean.Student;
+
+/**
+ * Student缓存值序列化基准测试，对比RedisConfig原来的JSON序列化器和BinaryRedisSerializer
+ * 每种格式的序列化结果字节数在开始时打印，name较长的学生用于观察超过阈值后LZ4压缩的效果
+ *
+ * 运行方式：mvn test-compile 后在IDE中执行main方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentSerializerBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    @Param({"short", "long"})
+    private String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Student student;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = serializer(format);
+        student = student(payload);
+        bytes = serializer.serialize(student);
+    }
+
+    static RedisSerializer<Object> serializer(String format) {
+        // 与RedisConfig中缓存管理器使用的JSON序列化器相同
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(mapper);
+        if ("json".equals(format)) {
+            return json;
+        }
+        return new BinaryRedisSerializer(Map.of(1, Student.class), 512, true, json);
+    }
+
+    static Student student(String payload) {
+        Student student = new Student();
+        student.setSno("001");
+        student.setName("long".equals(payload) ? "KangKang ".repeat(200) : "KangKang");
+        student.setSex("M");
+        return student;
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(student);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String payload : new String[] { "short", "long" }) {
+            for (String format : new String[] { "json", "binary" }) {
+                System.out.printf("%-6s %-6s %5d bytes%n", payload, format,
+                        serializer(format).serialize(student(payload)).length);
+            }
+        }
+        new Runner(new OptionsBuilder().include(StudentSerializerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
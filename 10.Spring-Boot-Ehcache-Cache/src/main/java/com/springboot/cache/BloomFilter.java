@@ -0,0 +1,84 @@
+package com.springboot.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 字符串键的布隆过滤器，mightContain返回false时键一定没有放入过，返回true时有fpp的概率误判
+ * 位数组和哈希函数个数按预计键数和误判率计算：m = -n * ln(fpp) / (ln2)^2，k = m / n * ln2；
+ * 每个键计算一个64位哈希，拆成两半后按h1 + i * h2得到k个位置。可以多线程同时put和mightContain
+ */
+public class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final long bitCount;
+	private final int hashCount;
+
+	/**
+	 * @param expectedInsertions 预计放入的键数，实际超出越多误判率越高
+	 * @param fpp 期望的误判率
+	 */
+	public BloomFilter(long expectedInsertions, double fpp) {
+		long n = Math.max(expectedInsertions, 1);
+		long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+		int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (m + 63) / 64));
+		this.bits = new AtomicLongArray(words);
+		this.bitCount = words * 64L;
+		this.hashCount = Math.max(1, (int) Math.round((double) this.bitCount / n * Math.log(2)));
+	}
+
+	public void put(String key) {
+		long hash = hash(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= this.hashCount; i++) {
+			long index = index(h1, h2, i);
+			long mask = 1L << index;
+			int word = (int) (index >>> 6);
+			if ((this.bits.get(word) & mask) == 0) {
+				this.bits.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+			}
+		}
+	}
+
+	public boolean mightContain(String key) {
+		long hash = hash(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 1; i <= this.hashCount; i++) {
+			long index = index(h1, h2, i);
+			if ((this.bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long bitCount() {
+		return this.bitCount;
+	}
+
+	public int hashCount() {
+		return this.hashCount;
+	}
+
+	private long index(int h1, int h2, int i) {
+		long combined = h1 + (long) i * h2;
+		return (combined & Long.MAX_VALUE) % this.bitCount;
+	}
+
+	/**
+	 * FNV-1a遍历字符后再做一次64位混合，保证高低32位都分布均匀
+	 */
+	private static long hash(String key) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			hash ^= key.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		return hash ^ (hash >>> 33);
+	}
+}
@@ -0,0 +1,95 @@
+package com.springboot.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.jcache.JCacheCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * 缓存统计，访问路径/actuator/cachestats
+ * caches为缓存注解的访问统计，见CacheMetrics；managers为每个缓存管理器中各缓存自身的统计，
+ * JCache缓存的统计来自ehcache.xml中开启的JSR-107统计MBean
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+	private static final String[] JCACHE_ATTRIBUTES = { "CacheGets", "CacheHits", "CacheMisses", "CacheHitPercentage",
+			"CachePuts", "CacheRemovals", "CacheEvictions", "AverageGetTime", "AveragePutTime" };
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	private CacheMetrics cacheMetrics;
+
+	@Autowired
+	private Map<String, CacheManager> cacheManagers;
+
+	@ReadOperation
+	public Map<String, Object> cacheStats() {
+		Map<String, Object> managers = new LinkedHashMap<>();
+		this.cacheManagers.forEach((beanName, cacheManager) -> {
+			Map<String, Object> caches = new LinkedHashMap<>();
+			for (String cacheName : cacheManager.getCacheNames()) {
+				Cache cache = cacheManager.getCache(cacheName);
+				if (cache != null) {
+					caches.put(cacheName, describe(cache));
+				}
+			}
+			Map<String, Object> manager = new LinkedHashMap<>();
+			manager.put("type", cacheManager.getClass().getSimpleName());
+			manager.put("caches", caches);
+			managers.put(beanName, manager);
+		});
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("caches", this.cacheMetrics.snapshot());
+		result.put("managers", managers);
+		return result;
+	}
+
+	private Map<String, Object> describe(Cache cache) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("type", cache.getClass().getSimpleName());
+		if (cache instanceof JCacheCache) {
+			result.putAll(jcacheStatistics(cache.getName()));
+		}
+		return result;
+	}
+
+	private Map<String, Object> jcacheStatistics(String cacheName) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			Set<ObjectName> names = server.queryNames(
+					new ObjectName("javax.cache:type=CacheStatistics,Cache=" + ObjectName.quote(cacheName) + ",*"), null);
+			if (names.isEmpty()) {
+				names = server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,Cache=" + cacheName + ",*"),
+						null);
+			}
+			for (ObjectName name : names) {
+				for (String attribute : JCACHE_ATTRIBUTES) {
+					result.put(Character.toLowerCase(attribute.charAt(0)) + attribute.substring(1),
+							server.getAttribute(name, attribute));
+				}
+			}
+		} catch (JMException e) {
+			log.warn("读取缓存{}的JCache统计失败", cacheName, e);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,37 @@
+package com.springboot.cache;
+
+import java.util.EnumSet;
+
+import javax.cache.CacheManager;
+
+import org.ehcache.Cache;
+import org.ehcache.event.EventFiring;
+import org.ehcache.event.EventOrdering;
+import org.ehcache.event.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 监听Ehcache各缓存的淘汰和过期事件，计入CacheMetrics
+ * 事件异步、无序发送，不影响缓存读写
+ */
+@Component
+public class EhcacheRemovalMetrics implements SmartInitializingSingleton {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private CacheMetrics cacheMetrics;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		for (String cacheName : this.cacheManager.getCacheNames()) {
+			Cache<?, ?> cache = this.cacheManager.getCache(cacheName).unwrap(Cache.class);
+			cache.getRuntimeConfiguration().registerCacheEventListener(
+					event -> this.cacheMetrics.recordRemoval(cacheName, event.getType() == EventType.EXPIRED),
+					EventOrdering.UNORDERED, EventFiring.ASYNCHRONOUS, EnumSet.of(EventType.EVICTED, EventType.EXPIRED));
+		}
+	}
+}
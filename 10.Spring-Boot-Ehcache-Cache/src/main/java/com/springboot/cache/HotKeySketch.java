@@ -0,0 +1,176 @@
+package com.springboot.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 用Count-Min Sketch估计键的访问次数，并保留估计次数最多的K个键
+ * Sketch占用固定内存，与键的个数无关；估计值只会偏大不会偏小，宽度越大偏差越小。
+ * 每累计width * 10次访问，所有计数减半，热点随时间推移而更新。
+ * 热点键保存在按估计次数排序的小顶堆中，更新为O(log K)；估计值不超过堆顶的访问不加锁，
+ * 其余访问用tryLock，抢不到锁时跳过本次更新，下次访问时再按新的估计值更新，读缓存的线程不会排队等锁。
+ * 计数和减半之间不加锁，结果是近似值，只用于观察热点
+ */
+public class HotKeySketch {
+
+	private static final int DEPTH = 4;
+
+	private final int width;
+	private final int mask;
+	private final AtomicLongArray table;
+	private final int topK;
+	private final long agingPeriod;
+	private final AtomicLong additions = new AtomicLong();
+	private final ReentrantLock lock = new ReentrantLock();
+	// 小顶堆，heapKeys[i]的估计值为heapCounts[i]，positions记录键在堆中的下标
+	private final String[] heapKeys;
+	private final long[] heapCounts;
+	private final Map<String, Integer> positions = new HashMap<>();
+	private int size;
+	// 堆满时为堆顶的估计值，未满时为-1；估计值不超过它的键不会进入堆
+	private volatile long topFloor = -1;
+
+	/**
+	 * @param width 每行的计数器个数，向上取整为2的幂
+	 * @param topK 保留的热点键个数
+	 */
+	public HotKeySketch(int width, int topK) {
+		this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+		this.mask = this.width - 1;
+		this.table = new AtomicLongArray(DEPTH * this.width);
+		this.topK = topK;
+		this.agingPeriod = this.width * 10L;
+		this.heapKeys = new String[topK];
+		this.heapCounts = new long[topK];
+	}
+
+	public void add(String key) {
+		int hash = spread(key.hashCode());
+		int step = spread(hash * 0x9E3779B9) | 1;
+		long estimate = Long.MAX_VALUE;
+		for (int i = 0; i < DEPTH; i++) {
+			int index = i * this.width + ((hash + i * step) & this.mask);
+			estimate = Math.min(estimate, this.table.incrementAndGet(index));
+		}
+		offer(key, estimate);
+		if (this.additions.incrementAndGet() % this.agingPeriod == 0) {
+			age();
+		}
+	}
+
+	/**
+	 * 按估计次数从多到少返回热点键
+	 */
+	public List<Map.Entry<String, Long>> topKeys() {
+		List<Map.Entry<String, Long>> keys;
+		this.lock.lock();
+		try {
+			keys = new ArrayList<>(this.size);
+			for (int i = 0; i < this.size; i++) {
+				keys.add(Map.entry(this.heapKeys[i], this.heapCounts[i]));
+			}
+		} finally {
+			this.lock.unlock();
+		}
+		keys.sort(Map.Entry.<String, Long> comparingByValue().reversed());
+		return keys;
+	}
+
+	private void offer(String key, long estimate) {
+		if (estimate <= this.topFloor || !this.lock.tryLock()) {
+			return;
+		}
+		try {
+			Integer index = this.positions.get(key);
+			if (index != null) {
+				this.heapCounts[index] = estimate;
+				siftDown(siftUp(index));
+			} else if (this.size < this.topK) {
+				set(this.size, key, estimate);
+				siftUp(this.size++);
+			} else if (estimate > this.heapCounts[0]) {
+				this.positions.remove(this.heapKeys[0]);
+				set(0, key, estimate);
+				siftDown(0);
+			}
+			updateFloor();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void age() {
+		this.lock.lock();
+		try {
+			for (int i = 0; i < this.table.length(); i++) {
+				this.table.set(i, this.table.get(i) >>> 1);
+			}
+			// 所有估计值同时减半，堆的顺序不变
+			for (int i = 0; i < this.size; i++) {
+				this.heapCounts[i] >>>= 1;
+			}
+			updateFloor();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void updateFloor() {
+		this.topFloor = this.size < this.topK ? -1 : this.heapCounts[0];
+	}
+
+	private int siftUp(int index) {
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			if (this.heapCounts[parent] <= this.heapCounts[index]) {
+				break;
+			}
+			swap(index, parent);
+			index = parent;
+		}
+		return index;
+	}
+
+	private void siftDown(int index) {
+		while (true) {
+			int smallest = index;
+			int left = 2 * index + 1;
+			int right = left + 1;
+			if (left < this.size && this.heapCounts[left] < this.heapCounts[smallest]) {
+				smallest = left;
+			}
+			if (right < this.size && this.heapCounts[right] < this.heapCounts[smallest]) {
+				smallest = right;
+			}
+			if (smallest == index) {
+				return;
+			}
+			swap(index, smallest);
+			index = smallest;
+		}
+	}
+
+	private void swap(int i, int j) {
+		String key = this.heapKeys[i];
+		long count = this.heapCounts[i];
+		set(i, this.heapKeys[j], this.heapCounts[j]);
+		set(j, key, count);
+	}
+
+	private void set(int index, String key, long count) {
+		this.heapKeys[index] = key;
+		this.heapCounts[index] = count;
+		this.positions.put(key, index);
+	}
+
+	private static int spread(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x45D9F3B;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,115 @@
+package com.springboot.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 定期把CacheMetrics统计的热点键保存到本地文件，应用关闭时再保存一次，启动预热时读取
+ * 文件每行为：缓存名\t键，同一缓存的键按热度从高到低排列；先写临时文件再改名，不会读到写了一半的文件
+ */
+@Component
+public class HotKeySnapshot {
+
+	private static final char SEPARATOR = '\t';
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	private CacheMetrics cacheMetrics;
+
+	@Value("${cache.warmup.snapshot-file:hot-keys.txt}")
+	private String snapshotFile;
+
+	@Value("${cache.warmup.snapshot-interval-seconds:300}")
+	private long snapshotIntervalSeconds;
+
+	private ScheduledExecutorService scheduler;
+
+	@PostConstruct
+	public void init() {
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(
+				runnable -> Thread.ofPlatform().name("hot-key-snapshot").daemon().unstarted(runnable));
+		this.scheduler.scheduleWithFixedDelay(this::saveQuietly, snapshotIntervalSeconds, snapshotIntervalSeconds,
+				TimeUnit.SECONDS);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		this.scheduler.shutdownNow();
+		saveQuietly();
+	}
+
+	/**
+	 * 读取上次保存的热点键，文件不存在时返回空Map
+	 */
+	public Map<String, List<String>> load() throws IOException {
+		Map<String, List<String>> hotKeys = new LinkedHashMap<>();
+		Path path = Paths.get(snapshotFile);
+		if (!Files.exists(path)) {
+			return hotKeys;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int separator = line.indexOf(SEPARATOR);
+				if (separator > 0) {
+					hotKeys.computeIfAbsent(line.substring(0, separator), name -> new ArrayList<>())
+							.add(line.substring(separator + 1));
+				}
+			}
+		}
+		return hotKeys;
+	}
+
+	public void save() throws IOException {
+		Map<String, List<String>> hotKeys = cacheMetrics.hotKeys();
+		if (hotKeys.values().stream().allMatch(List::isEmpty)) {
+			// 刚启动还没有统计到访问时不覆盖上次的快照
+			return;
+		}
+		Path path = Paths.get(snapshotFile).toAbsolutePath();
+		Files.createDirectories(path.getParent());
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+			for (Map.Entry<String, List<String>> entry : hotKeys.entrySet()) {
+				for (String key : entry.getValue()) {
+					if (key.indexOf('\n') < 0 && key.indexOf('\r') < 0) {
+						writer.write(entry.getKey() + SEPARATOR + key);
+						writer.newLine();
+					}
+				}
+			}
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void saveQuietly() {
+		try {
+			save();
+		} catch (IOException | RuntimeException e) {
+			log.warn("保存热点键快照失败: {}", snapshotFile, e);
+		}
+	}
+}
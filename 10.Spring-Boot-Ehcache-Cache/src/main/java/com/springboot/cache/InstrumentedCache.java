@@ -0,0 +1,127 @@
+package com.springboot.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.cache.Cache;
+
+/**
+ * 统计缓存注解访问情况的缓存装饰器，由InstrumentedCacheResolver包装缓存管理器返回的缓存
+ * sync = true 时，调用方线程在本次调用中执行了加载方法即为未命中，后台提前刷新只记录加载耗时；
+ * 其他情况下未命中后由同一线程放入该键的耗时即为加载耗时
+ */
+public class InstrumentedCache implements Cache {
+
+	private record PendingLoad(Object key, long startNanos) {
+	}
+
+	private final Cache delegate;
+	private final CacheMetrics metrics;
+	private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+	public InstrumentedCache(Cache delegate, CacheMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	public Cache getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public String getName() {
+		return this.delegate.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.delegate.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = this.delegate.get(key);
+		if (wrapper != null) {
+			this.metrics.recordHit(getName(), key);
+		} else {
+			this.metrics.recordMiss(getName(), key);
+			this.pendingLoad.set(new PendingLoad(key, System.nanoTime()));
+		}
+		return wrapper;
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		T value = this.delegate.get(key, type);
+		if (value != null) {
+			this.metrics.recordHit(getName(), key);
+		} else {
+			this.metrics.recordMiss(getName(), key);
+		}
+		return value;
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		AtomicBoolean inCall = new AtomicBoolean(true);
+		AtomicBoolean loaded = new AtomicBoolean();
+		Callable<T> timedLoader = () -> {
+			long start = System.nanoTime();
+			try {
+				return valueLoader.call();
+			} finally {
+				this.metrics.recordLoad(getName(), System.nanoTime() - start);
+				if (inCall.get()) {
+					loaded.set(true);
+				}
+			}
+		};
+		try {
+			return this.delegate.get(key, timedLoader);
+		} finally {
+			inCall.set(false);
+			if (loaded.get()) {
+				this.metrics.recordMiss(getName(), key);
+			} else {
+				this.metrics.recordHit(getName(), key);
+			}
+		}
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		PendingLoad pending = this.pendingLoad.get();
+		if (pending != null) {
+			this.pendingLoad.remove();
+			if (pending.key().equals(key)) {
+				this.metrics.recordLoad(getName(), System.nanoTime() - pending.startNanos());
+			}
+		}
+		this.delegate.put(key, value);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		return this.delegate.putIfAbsent(key, value);
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.delegate.evict(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		return this.delegate.evictIfPresent(key);
+	}
+
+	@Override
+	public void clear() {
+		this.delegate.clear();
+	}
+
+	@Override
+	public boolean invalidate() {
+		return this.delegate.invalidate();
+	}
+}
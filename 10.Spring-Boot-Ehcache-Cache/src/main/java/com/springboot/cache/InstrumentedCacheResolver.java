@@ -0,0 +1,41 @@
+package com.springboot.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+
+/**
+ * 缓存注解解析到的缓存统一包装为InstrumentedCache，不改变缓存管理器本身
+ */
+public class InstrumentedCacheResolver extends SimpleCacheResolver {
+
+	private final CacheMetrics metrics;
+	private final Map<String, InstrumentedCache> caches = new ConcurrentHashMap<>();
+
+	public InstrumentedCacheResolver(CacheManager cacheManager, CacheMetrics metrics) {
+		super(cacheManager);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+		Collection<? extends Cache> resolved = super.resolveCaches(context);
+		List<Cache> caches = new ArrayList<>(resolved.size());
+		for (Cache cache : resolved) {
+			InstrumentedCache instrumented = this.caches.get(cache.getName());
+			if (instrumented == null || instrumented.getDelegate() != cache) {
+				instrumented = new InstrumentedCache(cache, this.metrics);
+				this.caches.put(cache.getName(), instrumented);
+			}
+			caches.add(instrumented);
+		}
+		return caches;
+	}
+}
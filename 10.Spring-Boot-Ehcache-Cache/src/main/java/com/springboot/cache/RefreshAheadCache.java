@@ -0,0 +1,228 @@
+package com.springboot.cache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+/**
+ * 防击穿、提前刷新的缓存装饰器，需要配合@Cacheable(sync = true)使用
+ * 同一个键同时未命中时只有一个调用方执行加载，其余调用方等待同一个结果；
+ * 命中的值接近过期时在后台用最近一次的加载方法刷新，调用方继续拿到旧值，热点键不会集中过期。
+ * 是否提前刷新有两个条件，满足其一即可：
+ * 1. 已经过了有效期的ratio比例；
+ * 2. 概率提前过期（XFetch）：now - 加载耗时 * beta * ln(random) >= 过期时间，越接近过期、加载越慢，刷新概率越大
+ * 加载时间等信息只记录在内存中，由本次启动后加载的键才会被提前刷新，从磁盘层恢复或预热放入的键不会。
+ * 后台刷新期间该键被put、evict或clear时放弃刷新结果，避免较旧的数据库结果覆盖@CachePut写入的新值。
+ * 刷新使用的valueLoader是Spring在未命中时传入的回调，重放的是那一次已经执行过的方法调用：
+ * 调用链上排在缓存拦截器之后的其他拦截器（例如事务）不会再次执行，方法参数和目标对象也会随记录一起保留，
+ * 因此只适合无需其他拦截器的查询方法，max-tracked-keys不宜设置过大
+ */
+public class RefreshAheadCache implements Cache {
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	private final Cache delegate;
+	private final RefreshAheadCacheManager.Settings settings;
+	private final Executor executor;
+	private final com.github.benmanes.caffeine.cache.Cache<Object, Entry> entries;
+	private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * 后台刷新结果被放弃时，等待同一个键的调用方重新加载
+	 */
+	private static final Object DISCARDED = new Object();
+
+	RefreshAheadCache(Cache delegate, RefreshAheadCacheManager.Settings settings, Executor executor,
+			com.github.benmanes.caffeine.cache.Cache<Object, Entry> entries) {
+		this.delegate = delegate;
+		this.settings = settings;
+		this.executor = executor;
+		this.entries = entries;
+	}
+
+	@Override
+	public String getName() {
+		return this.delegate.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.delegate.getNativeCache();
+	}
+
+	public Cache getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		return this.delegate.get(key);
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		return this.delegate.get(key, type);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = this.delegate.get(key);
+		if (wrapper != null) {
+			refreshIfNeeded(key);
+			return (T) wrapper.get();
+		}
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		CompletableFuture<Object> existing = this.inFlight.putIfAbsent(key, flight);
+		if (existing != null) {
+			// 其他调用方正在加载同一个键
+			Object value = join(key, valueLoader, existing);
+			return value != DISCARDED ? (T) value : get(key, valueLoader);
+		}
+		try {
+			// 前一次加载可能刚刚完成
+			wrapper = this.delegate.get(key);
+			Object value = wrapper != null ? wrapper.get() : load(key, (Callable<Object>) valueLoader);
+			flight.complete(value);
+			return (T) value;
+		} catch (Throwable e) {
+			flight.completeExceptionally(e);
+			if (e instanceof ValueRetrievalException retrievalException) {
+				throw retrievalException;
+			}
+			throw new ValueRetrievalException(key, valueLoader, e);
+		} finally {
+			this.inFlight.remove(key, flight);
+		}
+	}
+
+	private Object load(Object key, Callable<Object> valueLoader) throws Exception {
+		long start = System.nanoTime();
+		Object value = valueLoader.call();
+		long loadNanos = System.nanoTime() - start;
+		if (value != null) {
+			this.delegate.put(key, value);
+			long now = System.currentTimeMillis();
+			this.entries.put(key, new Entry(now, now + this.settings.ttlMillis(), loadNanos, valueLoader));
+		}
+		return value;
+	}
+
+	/**
+	 * 用触发刷新的记录重新加载，只有该键的记录仍是这一条时才写入缓存，否则返回DISCARDED
+	 */
+	private Object refresh(Object key, Entry entry) throws Exception {
+		long start = System.nanoTime();
+		Object value = entry.valueLoader().call();
+		long loadNanos = System.nanoTime() - start;
+		if (value == null) {
+			return DISCARDED;
+		}
+		long now = System.currentTimeMillis();
+		Entry refreshed = new Entry(now, now + this.settings.ttlMillis(), loadNanos, entry.valueLoader());
+		Entry current = this.entries.asMap().computeIfPresent(key, (k, existing) -> {
+			if (existing != entry) {
+				return existing;
+			}
+			this.delegate.put(key, value);
+			return refreshed;
+		});
+		return current == refreshed ? value : DISCARDED;
+	}
+
+	private void refreshIfNeeded(Object key) {
+		Entry entry = this.entries.getIfPresent(key);
+		if (entry == null || !shouldRefresh(entry)) {
+			return;
+		}
+		CompletableFuture<Object> flight = new CompletableFuture<>();
+		if (this.inFlight.putIfAbsent(key, flight) != null) {
+			return;
+		}
+		// 刷新失败或被线程池拒绝时以DISCARDED结束，等待的调用方重新走get，命中旧值或自己加载；
+		// 先移出inFlight再结束，重新调用get时不会再等到同一个刷新
+		try {
+			this.executor.execute(() -> {
+				Object value = DISCARDED;
+				try {
+					value = refresh(key, entry);
+				} catch (Throwable e) {
+					// 刷新失败时继续使用旧值，到期后由下一次未命中重新加载
+					log.warn("提前刷新缓存失败: {}::{}", getName(), key, e);
+				} finally {
+					this.inFlight.remove(key, flight);
+					flight.complete(value);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.warn("提前刷新任务被拒绝: {}::{}", getName(), key, e);
+			this.inFlight.remove(key, flight);
+			flight.complete(DISCARDED);
+		}
+	}
+
+	private boolean shouldRefresh(Entry entry) {
+		long now = System.currentTimeMillis();
+		long ttl = entry.expiresAt - entry.loadedAt;
+		if (now >= entry.loadedAt + (long) (ttl * this.settings.ratio())) {
+			return true;
+		}
+		if (this.settings.beta() <= 0) {
+			return false;
+		}
+		double loadMillis = entry.loadNanos / 1_000_000.0;
+		double early = -loadMillis * this.settings.beta() * Math.log(ThreadLocalRandom.current().nextDouble());
+		return now + early >= entry.expiresAt;
+	}
+
+	private Object join(Object key, Callable<?> valueLoader, CompletableFuture<Object> flight) {
+		try {
+			return flight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof ValueRetrievalException retrievalException) {
+				throw retrievalException;
+			}
+			throw new ValueRetrievalException(key, valueLoader, e.getCause());
+		}
+	}
+
+	/**
+	 * 与refresh在同一个键的记录上互斥，保证进行中的刷新不会覆盖这次写入
+	 */
+	@Override
+	public void put(Object key, Object value) {
+		this.entries.asMap().compute(key, (k, existing) -> {
+			this.delegate.put(key, value);
+			return null;
+		});
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.entries.asMap().compute(key, (k, existing) -> {
+			this.delegate.evict(key);
+			return null;
+		});
+	}
+
+	@Override
+	public void clear() {
+		// 先清除记录，之后完成的刷新都会被放弃
+		this.entries.invalidateAll();
+		this.delegate.clear();
+	}
+
+	/**
+	 * valueLoader持有未命中那次调用的参数和目标对象，见类注释
+	 */
+	record Entry(long loadedAt, long expiresAt, long loadNanos, Callable<Object> valueLoader) {
+	}
+}
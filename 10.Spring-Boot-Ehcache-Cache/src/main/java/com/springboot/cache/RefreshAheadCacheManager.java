@@ -0,0 +1,68 @@
+package com.springboot.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 为缓存管理器中的每个缓存加上防击穿和提前刷新，见RefreshAheadCache
+ */
+public class RefreshAheadCacheManager implements CacheManager, DisposableBean {
+
+	/**
+	 * @param ttl 被装饰缓存中条目的有效期
+	 * @param ratio 过了有效期的该比例后提前刷新
+	 * @param beta 概率提前过期的系数，0表示不启用
+	 * @param maxTrackedKeys 每个缓存最多记录加载信息的键数
+	 */
+	public record Settings(Duration ttl, double ratio, double beta, long maxTrackedKeys) {
+
+		long ttlMillis() {
+			return this.ttl.toMillis();
+		}
+	}
+
+	private final CacheManager delegate;
+	private final Settings settings;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Map<String, RefreshAheadCache> caches = new ConcurrentHashMap<>();
+
+	public RefreshAheadCacheManager(CacheManager delegate, Settings settings) {
+		this.delegate = delegate;
+		this.settings = settings;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		return this.caches.computeIfAbsent(name, cacheName -> {
+			Cache cache = this.delegate.getCache(cacheName);
+			if (cache == null) {
+				return null;
+			}
+			return new RefreshAheadCache(cache, this.settings, this.executor,
+					Caffeine.newBuilder()
+							.maximumSize(this.settings.maxTrackedKeys())
+							.expireAfterWrite(this.settings.ttl())
+							.build());
+		});
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.delegate.getCacheNames();
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+}
@@ -0,0 +1,154 @@
+package com.springboot.cache;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springboot.mapper.StudentMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 防止查询不存在的学号穿透到数据库
+ * 1. 布隆过滤器：启动后以游标扫描全部学号构建，之后按rebuild-interval-minutes定期重建，新增学生时同步加入；
+ *    过滤器判断不存在的学号直接返回，既不查缓存也不查数据库。重建期间新增的学号同时加入新旧两个过滤器。
+ * 2. 不存在结果的本地缓存：布隆过滤器误判或学生已被删除时，数据库查不到的学号在有限时间内直接返回。
+ * 首次构建完成前不做过滤；不经过本应用直接写入数据库的学号（例如其他模块写入的），要到下次重建后才能查到，因此重建间隔不宜过长
+ */
+@Component("studentKeyGuard")
+public class StudentKeyGuard {
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	private StudentMapper studentMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${student.bloom.expected-insertions:1000000}")
+	private long expectedInsertions;
+
+	@Value("${student.bloom.fpp:0.01}")
+	private double fpp;
+
+	@Value("${student.bloom.rebuild-interval-minutes:10}")
+	private long rebuildIntervalMinutes;
+
+	@Value("${student.negative-cache.maximum-size:10000}")
+	private long negativeMaximumSize;
+
+	@Value("${student.negative-cache.expire-after-write-seconds:60}")
+	private long negativeExpireAfterWriteSeconds;
+
+	private volatile BloomFilter filter;
+	private volatile BloomFilter building;
+	private long lastCount;
+	private Cache<String, Boolean> missing;
+	private TransactionTemplate transactionTemplate;
+	private ScheduledExecutorService scheduler;
+
+	@PostConstruct
+	public void init() {
+		this.missing = Caffeine.newBuilder()
+				.maximumSize(negativeMaximumSize)
+				.expireAfterWrite(negativeExpireAfterWriteSeconds, TimeUnit.SECONDS)
+				.build();
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(
+				runnable -> Thread.ofPlatform().name("student-bloom-rebuild").daemon().unstarted(runnable));
+		this.scheduler.scheduleWithFixedDelay(this::rebuildQuietly, 0, rebuildIntervalMinutes, TimeUnit.MINUTES);
+	}
+
+	@PreDestroy
+	public void destroy() {
+		this.scheduler.shutdownNow();
+	}
+
+	/**
+	 * 学号可能存在时返回true，返回false时学号一定不存在或刚刚查询过不存在
+	 */
+	public boolean mightExist(String sno) {
+		if (sno == null) {
+			return false;
+		}
+		BloomFilter current = this.filter;
+		if (current != null && !current.mightContain(sno)) {
+			return false;
+		}
+		return this.missing.getIfPresent(sno) == null;
+	}
+
+	/**
+	 * 新增学生后调用
+	 */
+	public void added(String sno) {
+		BloomFilter current = this.filter;
+		if (current != null) {
+			current.put(sno);
+		}
+		BloomFilter next = this.building;
+		if (next != null) {
+			next.put(sno);
+		}
+		this.missing.invalidate(sno);
+	}
+
+	/**
+	 * 数据库中查不到该学号，或该学生已被删除
+	 */
+	public void missing(String sno) {
+		this.missing.put(sno, Boolean.TRUE);
+	}
+
+	/**
+	 * 扫描全部学号构建新的过滤器后替换旧的，大小取配置的预计键数和上次键数两倍中的较大者
+	 */
+	public synchronized void rebuild() {
+		BloomFilter next = new BloomFilter(Math.max(expectedInsertions, lastCount * 2), fpp);
+		// 先发布再扫描，扫描开始后新增的学号由added加入next
+		this.building = next;
+		try {
+			long count = transactionTemplate.execute(status -> {
+				long scanned = 0;
+				try (Cursor<String> cursor = studentMapper.querySnosCursor()) {
+					for (String sno : cursor) {
+						next.put(sno);
+						scanned++;
+					}
+				} catch (IOException e) {
+					throw new IllegalStateException("关闭学号游标失败", e);
+				}
+				return scanned;
+			});
+			this.filter = next;
+			this.lastCount = count;
+			log.info("学号布隆过滤器构建完成：{}个学号，{}位，{}个哈希函数", count, next.bitCount(), next.hashCount());
+		} finally {
+			this.building = null;
+		}
+	}
+
+	private void rebuildQuietly() {
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			// 构建失败时继续使用旧的过滤器，首次构建失败则暂不过滤
+			log.warn("构建学号布隆过滤器失败", e);
+		}
+	}
+}
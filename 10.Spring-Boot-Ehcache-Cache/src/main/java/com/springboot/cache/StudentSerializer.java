@@ -0,0 +1,87 @@
+package com.springboot.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+
+import com.springboot.bean.Student;
+
+/**
+ * 学生缓存值在堆外和磁盘层的序列化器，代替Java序列化
+ * 格式：版本号(1字节) + 学号、姓名、性别，每个字段为长度(int，null为-1) + UTF-8字节
+ * 磁盘层会在重启后继续读取旧数据，格式只能新增版本，不能修改已有版本的含义
+ * 没有内部状态，只需要ClassLoader构造方法即可用于持久化的磁盘层
+ */
+public class StudentSerializer implements Serializer<Student> {
+
+	private static final byte VERSION = 1;
+
+	public StudentSerializer(ClassLoader classLoader) {
+	}
+
+	@Override
+	public ByteBuffer serialize(Student student) throws SerializerException {
+		byte[] sno = bytes(student.getSno());
+		byte[] name = bytes(student.getName());
+		byte[] sex = bytes(student.getSex());
+		ByteBuffer buffer = ByteBuffer.allocate(1 + size(sno) + size(name) + size(sex));
+		buffer.put(VERSION);
+		write(buffer, sno);
+		write(buffer, name);
+		write(buffer, sex);
+		return buffer.flip();
+	}
+
+	@Override
+	public Student read(ByteBuffer buffer) throws ClassNotFoundException, SerializerException {
+		byte version = buffer.get();
+		if (version != VERSION) {
+			throw new SerializerException("不支持的学生缓存格式版本: " + version);
+		}
+		Student student = new Student();
+		student.setSno(readString(buffer));
+		student.setName(readString(buffer));
+		student.setSex(readString(buffer));
+		return student;
+	}
+
+	@Override
+	public boolean equals(Student student, ByteBuffer buffer) throws ClassNotFoundException, SerializerException {
+		Student other = read(buffer);
+		return equals(student.getSno(), other.getSno()) && equals(student.getName(), other.getName())
+				&& equals(student.getSex(), other.getSex());
+	}
+
+	private static byte[] bytes(String value) {
+		return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+	}
+
+	private static int size(byte[] bytes) {
+		return Integer.BYTES + (bytes != null ? bytes.length : 0);
+	}
+
+	private static void write(ByteBuffer buffer, byte[] bytes) {
+		if (bytes == null) {
+			buffer.putInt(-1);
+		} else {
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static boolean equals(String a, String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+}
@@ -0,0 +1,62 @@
+package com.springboot.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Configuration;
+
+import com.springboot.cache.CacheMetrics;
+import com.springboot.cache.InstrumentedCacheResolver;
+import com.springboot.cache.RefreshAheadCacheManager;
+
+/**
+ * 缓存注解通过InstrumentedCacheResolver访问主缓存管理器，统计命中率、加载耗时和热点键；
+ * 解析到的缓存再加上防击穿和提前刷新，需要配合@Cacheable(sync = true)，见RefreshAheadCache。
+ * 主缓存管理器仍由JCache自动配置创建，预热等直接使用它的地方不经过这两层装饰
+ */
+@Configuration
+public class CacheMetricsConfig implements CachingConfigurer, DisposableBean {
+
+	@Autowired
+	private ObjectProvider<CacheManager> cacheManager;
+
+	@Autowired
+	private ObjectProvider<CacheMetrics> cacheMetrics;
+
+	/**
+	 * 提前刷新按该有效期计算，与ehcache.xml中的tti一致
+	 */
+	@Value("${cache.refresh.ttl-seconds:3600}")
+	private long ttlSeconds;
+
+	@Value("${cache.refresh.ratio:0.8}")
+	private double ratio;
+
+	@Value("${cache.refresh.beta:1.0}")
+	private double beta;
+
+	@Value("${cache.refresh.max-tracked-keys:10000}")
+	private long maxTrackedKeys;
+
+	private RefreshAheadCacheManager refreshAheadCacheManager;
+
+	@Override
+	public CacheResolver cacheResolver() {
+		this.refreshAheadCacheManager = new RefreshAheadCacheManager(this.cacheManager.getObject(),
+				new RefreshAheadCacheManager.Settings(Duration.ofSeconds(ttlSeconds), ratio, beta, maxTrackedKeys));
+		return new InstrumentedCacheResolver(this.refreshAheadCacheManager, this.cacheMetrics.getObject());
+	}
+
+	@Override
+	public void destroy() {
+		if (this.refreshAheadCacheManager != null) {
+			this.refreshAheadCacheManager.destroy();
+		}
+	}
+}
@@ -1,17 +1,28 @@
 package com.springboot.mapper;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.ResultMap;
 import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
 
 import com.springboot.bean.Student;
 
 @Mapper
 public interface StudentMapper {
 
+	@Insert("insert into student(sno,sname,ssex) values(#{sno},#{name},#{sex})")
+	int add(Student student);
+
 	@Update("update student set sname=#{name},ssex=#{sex} where sno=#{sno}")
 	int update(Student student);
 
@@ -23,4 +34,19 @@ public interface StudentMapper {
 			@Result(property = "name", column = "sname", javaType = String.class),
 			@Result(property = "sex", column = "ssex", javaType = String.class) })
 	Student queryStudentBySno(String sno);
+
+	@Select({ "<script>",
+			"select * from student where sno in",
+			"<foreach collection='snos' item='sno' open='(' separator=',' close=')'>#{sno}</foreach>",
+			"</script>" })
+	@ResultMap("student")
+	List<Student> queryStudentsBySnos(@Param("snos") Collection<String> snos);
+
+	/**
+	 * 游标方式逐行读取全部学号，用于构建布隆过滤器，需要在事务内遍历；
+	 * fetchSize只有在连接串带useCursorFetch=true时才会按批读取，否则驱动会一次读入全部结果
+	 */
+	@Select("select sno from student")
+	@Options(fetchSize = 1000)
+	Cursor<String> querySnosCursor();
 }
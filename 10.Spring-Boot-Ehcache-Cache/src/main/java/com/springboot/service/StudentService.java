@@ -10,11 +10,17 @@ import com.springboot.bean.Student;
 @CacheConfig(cacheNames = "student")
 public interface StudentService {
 	@CachePut(key = "#p0.sno")
+	Student add(Student student);
+
+	// 缓存的值类型限定为Student，不能存入表示null的占位对象
+	@CachePut(key = "#p0.sno", unless = "#result == null")
 	Student update(Student student);
 
-	@CacheEvict(key = "#p0", allEntries = true)
+	@CacheEvict(key = "#p0")
 	void deleteStudentBySno(String sno);
 	
-	@Cacheable(key = "#p0")
+	// 布隆过滤器判断学号不存在时不访问缓存，方法直接返回null，见StudentKeyGuard；
+	// sync不能与unless同时使用，查询结果为null时由RefreshAheadCache负责不放入缓存
+	@Cacheable(key = "#p0", sync = true, condition = "@studentKeyGuard.mightExist(#p0)")
 	Student queryStudentBySno(String sno);
 }
@@ -0,0 +1,108 @@
+package com.springboot.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.springboot.bean.Student;
+import com.springboot.cache.HotKeySnapshot;
+import com.springboot.mapper.StudentMapper;
+
+/**
+ * 启动时按上次保存的热点键快照预热学生缓存
+ * 磁盘层中已有的学号跳过，其余学号按batch-size分批，最多concurrency批同时以IN查询加载后放入缓存。
+ * ApplicationRunner执行完后才发布ApplicationReadyEvent，就绪探针在预热结束（或超时）后才变为UP
+ */
+@Component
+class StudentCacheWarmer implements ApplicationRunner {
+
+	private static final String CACHE_NAME = "student";
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	private HotKeySnapshot hotKeySnapshot;
+
+	@Autowired
+	private StudentMapper studentMapper;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Value("${cache.warmup.enabled:true}")
+	private boolean enabled;
+
+	@Value("${cache.warmup.concurrency:4}")
+	private int concurrency;
+
+	@Value("${cache.warmup.batch-size:200}")
+	private int batchSize;
+
+	@Value("${cache.warmup.timeout-seconds:60}")
+	private long timeoutSeconds;
+
+	@Override
+	public void run(ApplicationArguments args) throws Exception {
+		Cache cache = cacheManager.getCache(CACHE_NAME);
+		if (!enabled || cache == null) {
+			return;
+		}
+		List<String> snos = new ArrayList<>();
+		for (String sno : hotKeySnapshot.load().getOrDefault(CACHE_NAME, List.of())) {
+			if (cache.get(sno) == null) {
+				snos.add(sno);
+			}
+		}
+		if (snos.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+		AtomicInteger loaded = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+				Thread.ofVirtual().name("student-cache-warmup-", 0).factory());
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int from = 0; from < snos.size(); from += batchSize) {
+				List<String> batch = snos.subList(from, Math.min(from + batchSize, snos.size()));
+				futures.add(executor.submit(() -> {
+					for (Student student : studentMapper.queryStudentsBySnos(batch)) {
+						cache.putIfAbsent(student.getSno(), student);
+						loaded.incrementAndGet();
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				} catch (ExecutionException e) {
+					log.warn("预热学生缓存的一批数据失败", e.getCause());
+				} catch (TimeoutException e) {
+					log.warn("预热学生缓存超过{}秒，剩余的数据不再预热", timeoutSeconds);
+					break;
+				}
+			}
+		} finally {
+			// 超时后不等待未完成的批次，避免推迟就绪
+			executor.shutdownNow();
+		}
+		log.info("预热学生缓存：快照中{}个学号不在缓存中，加载{}个，耗时{}毫秒", snos.size(), loaded.get(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+}
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import com.springboot.bean.Student;
+import com.springboot.cache.StudentKeyGuard;
 import com.springboot.mapper.StudentMapper;
 import com.springboot.service.StudentService;
 
@@ -12,21 +13,56 @@ public class StudentServiceImpl implements StudentService{
 
 	@Autowired
 	private StudentMapper studentMapper;
+
+	@Autowired
+	private StudentWriteBehind studentWriteBehind;
+
+	@Autowired
+	private StudentKeyGuard studentKeyGuard;
+
+	@Override
+	public Student add(Student student) {
+		this.studentMapper.add(student);
+		this.studentKeyGuard.added(student.getSno());
+		return student;
+	}
 	
 	@Override
 	public Student update(Student student) {
+		if (this.studentWriteBehind.isEnabled()) {
+			// 布隆过滤器判断不存在的学号一定没有记录，返回null不放入缓存
+			if (!this.studentKeyGuard.mightExist(student.getSno())) {
+				return null;
+			}
+			// 延迟写入：返回值由@CachePut立即放入缓存，数据库由后台批量更新，学号不存在时写入后再从缓存删除
+			this.studentWriteBehind.enqueue(student);
+			return student;
+		}
 		this.studentMapper.update(student);
 		return this.studentMapper.queryStudentBySno(student.getSno());
 	}
 
 	@Override
 	public void deleteStudentBySno(String sno) {
+		this.studentWriteBehind.discard(sno);
 		this.studentMapper.deleteStudentBySno(sno);
+		this.studentKeyGuard.missing(sno);
 	}
 
 	@Override
 	public Student queryStudentBySno(String sno) {
-		return this.studentMapper.queryStudentBySno(sno);
+		if (!this.studentKeyGuard.mightExist(sno)) {
+			return null;
+		}
+		Student pending = this.studentWriteBehind.get(sno);
+		if (pending != null) {
+			return pending;
+		}
+		Student student = this.studentMapper.queryStudentBySno(sno);
+		if (student == null) {
+			this.studentKeyGuard.missing(sno);
+		}
+		return student;
 	}
 
 }
@@ -0,0 +1,317 @@
+package com.springboot.service.impl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.springboot.bean.Student;
+import com.springboot.cache.StudentKeyGuard;
+import com.springboot.cache.StudentSerializer;
+import com.springboot.mapper.StudentMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 学生更新的延迟写入缓冲区，student.write-behind.enabled=true时启用
+ * 更新先写入缓存并按学号合并在缓冲区中，同一学号只保留最后一次更新，由后台线程定期以JDBC批处理写入数据库。
+ * 同一时间只有一个线程在写入，一个学号被取出写入期间的新更新留在缓冲区等下一批，因此同一学号的更新按顺序落库。
+ * 正在写入的数据在提交前仍可通过get读到，缓存未命中时不会从数据库读到旧值。
+ * 影响0行的更新说明学生不存在，写入后从缓存中删除该学号，避免@CachePut放入的数据一直留在缓存中。
+ * 应用关闭时写入剩余数据，写入失败则保存到spill-file，下次启动时先读取该文件并写入数据库
+ */
+@Component
+class StudentWriteBehind {
+
+	private static final String CACHE_NAME = "student";
+
+	private Logger log = LoggerFactory.getLogger(this.getClass());
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// 注入Mapper保证StudentMapper在init读取spill-file前已注册到MyBatis配置中
+	@Autowired
+	private StudentMapper studentMapper;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private StudentKeyGuard studentKeyGuard;
+
+	@Value("${student.write-behind.enabled:false}")
+	private boolean enabled;
+
+	@Value("${student.write-behind.flush-interval-millis:1000}")
+	private long flushIntervalMillis;
+
+	/**
+	 * 每批写入的条数，缓冲区达到该条数时立即触发一次写入
+	 */
+	@Value("${student.write-behind.batch-size:500}")
+	private int batchSize;
+
+	@Value("${student.write-behind.spill-file:${user.home}/.spring-boot-ehcache-cache/student-write-behind.dat}")
+	private String spillFile;
+
+	private final Map<String, Student> pending = new ConcurrentHashMap<>();
+	private final Map<String, Student> writing = new ConcurrentHashMap<>();
+	// 写入期间被删除的学号，写入失败时不再放回缓冲区；写入结束后清空
+	private final Set<String> discarded = ConcurrentHashMap.newKeySet();
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final StudentSerializer serializer = new StudentSerializer(getClass().getClassLoader());
+
+	// 写入使用的BATCH执行器，不注册为Bean，避免替换默认的SqlSessionTemplate
+	private SqlSessionTemplate batchSqlSessionTemplate;
+	private TransactionTemplate transactionTemplate;
+	private ScheduledExecutorService scheduler;
+
+	@PostConstruct
+	public void init() throws IOException {
+		this.batchSqlSessionTemplate = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		// 上次关闭时未能写入的数据，不论当前是否启用都先写入数据库
+		recoverSpill();
+		if (enabled) {
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(
+					runnable -> Thread.ofPlatform().name("student-write-behind").daemon().unstarted(runnable));
+			this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 放入缓冲区，同一学号覆盖之前未写入的更新
+	 */
+	public void enqueue(Student student) {
+		pending.put(student.getSno(), copy(student));
+		if (pending.size() >= batchSize) {
+			try {
+				scheduler.execute(this::flushQuietly);
+			} catch (RejectedExecutionException e) {
+				// 正在关闭，剩余数据由destroy写入
+			}
+		}
+	}
+
+	/**
+	 * 尚未提交到数据库的更新，没有返回null
+	 */
+	public Student get(String sno) {
+		Student student = pending.get(sno);
+		return student != null ? student : writing.get(sno);
+	}
+
+	/**
+	 * 丢弃该学号尚未写入的更新，删除学生时调用
+	 * 已经在写入中的update会在delete之前或之后执行，之后执行时影响0行，结果相同；写入失败时也不会再放回缓冲区
+	 */
+	public void discard(String sno) {
+		discarded.add(sno);
+		pending.remove(sno);
+		writing.remove(sno);
+	}
+
+	/**
+	 * 写入缓冲区中的全部更新，返回写入条数；写入失败的数据放回缓冲区，不覆盖期间的新更新，期间被删除的学号不再放回
+	 */
+	public int flush() {
+		flushLock.lock();
+		try {
+			int written = 0;
+			while (!pending.isEmpty()) {
+				List<Student> batch = drain();
+				List<String> missing;
+				try {
+					missing = transactionTemplate.execute(status -> {
+						StudentMapper mapper = batchSqlSessionTemplate.getMapper(StudentMapper.class);
+						for (Student student : batch) {
+							mapper.update(student);
+						}
+						return missing(batchSqlSessionTemplate.flushStatements());
+					});
+				} catch (RuntimeException e) {
+					for (Student student : batch) {
+						if (!discarded.contains(student.getSno())) {
+							pending.putIfAbsent(student.getSno(), student);
+						}
+						writing.remove(student.getSno(), student);
+					}
+					throw e;
+				}
+				for (Student student : batch) {
+					writing.remove(student.getSno(), student);
+				}
+				evict(missing);
+				written += batch.size() - missing.size();
+			}
+			return written;
+		} finally {
+			discarded.clear();
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * 影响0行的更新对应的学号；驱动返回SUCCESS_NO_INFO等无法确定行数的结果时按已更新处理
+	 */
+	private static List<String> missing(List<BatchResult> results) {
+		List<String> missing = new ArrayList<>();
+		for (BatchResult result : results) {
+			int[] counts = result.getUpdateCounts();
+			List<Object> parameters = result.getParameterObjects();
+			for (int i = 0; i < counts.length && i < parameters.size(); i++) {
+				if (counts[i] == 0) {
+					missing.add(((Student) parameters.get(i)).getSno());
+				}
+			}
+		}
+		return missing;
+	}
+
+	private void evict(List<String> missing) {
+		if (missing.isEmpty()) {
+			return;
+		}
+		Cache cache = cacheManager.getCache(CACHE_NAME);
+		for (String sno : missing) {
+			// 期间又有新的更新时，缓存中是新的数据，由下一批写入后再判断
+			if (!pending.containsKey(sno) && cache != null) {
+				cache.evict(sno);
+			}
+			studentKeyGuard.missing(sno);
+		}
+		log.warn("{}条学生更新没有对应的记录，已从缓存中删除: {}", missing.size(), missing);
+	}
+
+	@PreDestroy
+	public void destroy() throws IOException {
+		if (scheduler != null) {
+			scheduler.shutdown();
+			try {
+				scheduler.awaitTermination(flushIntervalMillis + 10000, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.error("关闭时写入学生更新失败，{}条更新保存到{}", pending.size(), spillFile, e);
+			spill();
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			int written = flush();
+			if (written > 0) {
+				log.debug("写入{}条学生更新", written);
+			}
+		} catch (RuntimeException e) {
+			log.warn("写入学生更新失败，{}条更新留在缓冲区等待下次写入", pending.size(), e);
+		}
+	}
+
+	private List<Student> drain() {
+		List<Student> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+		Iterator<String> keys = pending.keySet().iterator();
+		while (keys.hasNext() && batch.size() < batchSize) {
+			String sno = keys.next();
+			Student student = pending.remove(sno);
+			if (student != null) {
+				writing.put(sno, student);
+				batch.add(student);
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * 文件格式：条数(int)，每条为长度(int) + StudentSerializer序列化的字节；先写临时文件再改名，避免留下不完整的文件
+	 */
+	private void spill() throws IOException {
+		Path path = Paths.get(spillFile);
+		Files.createDirectories(path.toAbsolutePath().getParent());
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		List<Student> students = new ArrayList<>(pending.values());
+		try (OutputStream out = Files.newOutputStream(temp); DataOutputStream data = new DataOutputStream(out)) {
+			data.writeInt(students.size());
+			for (Student student : students) {
+				ByteBuffer buffer = serializer.serialize(student);
+				data.writeInt(buffer.remaining());
+				data.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			}
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void recoverSpill() throws IOException {
+		Path path = Paths.get(spillFile);
+		if (!Files.exists(path)) {
+			return;
+		}
+		try (InputStream in = Files.newInputStream(path); DataInputStream data = new DataInputStream(in)) {
+			int count = data.readInt();
+			for (int i = 0; i < count; i++) {
+				byte[] bytes = new byte[data.readInt()];
+				data.readFully(bytes);
+				Student student = serializer.read(ByteBuffer.wrap(bytes));
+				pending.put(student.getSno(), student);
+			}
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
+		}
+		int written = flush();
+		Files.delete(path);
+		log.info("已写入上次关闭时保存的{}条学生更新", written);
+	}
+
+	private static Student copy(Student student) {
+		Student copy = new Student();
+		copy.setSno(student.getSno());
+		copy.setName(student.getName());
+		copy.setSex(student.getSex());
+		return copy;
+	}
+}
@@ -0,0 +1,118 @@
+package com.springboot.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 热点键按估计次数从多到少排列，只保留topK个；每width * 10次访问计数减半
+ */
+public class HotKeySketchTest {
+
+	// 宽度64，每640次访问减半一次
+	private static final int WIDTH = 64;
+
+	@Test
+	public void topKeysAreOrderedByCount() {
+		HotKeySketch sketch = new HotKeySketch(WIDTH, 2);
+		add(sketch, "hot", 100);
+		add(sketch, "cold", 10);
+		add(sketch, "warm", 40);
+
+		List<Map.Entry<String, Long>> top = sketch.topKeys();
+
+		assertEquals(2, top.size());
+		assertEquals("hot", top.get(0).getKey());
+		assertEquals("warm", top.get(1).getKey());
+		// Count-Min Sketch只会高估
+		assertTrue(top.get(0).getValue() >= 100);
+		assertTrue(top.get(1).getValue() >= 40);
+	}
+
+	@Test
+	public void colderKeyIsReplacedWhenAnotherBecomesHotter() {
+		HotKeySketch sketch = new HotKeySketch(WIDTH, 2);
+		add(sketch, "a", 30);
+		add(sketch, "b", 20);
+		add(sketch, "c", 50);
+
+		List<Map.Entry<String, Long>> top = sketch.topKeys();
+
+		assertEquals("c", top.get(0).getKey());
+		assertEquals("a", top.get(1).getKey());
+	}
+
+	@Test
+	public void countsAreHalvedEveryAgingPeriod() {
+		HotKeySketch sketch = new HotKeySketch(WIDTH, 3);
+		add(sketch, "hot", 300);
+		add(sketch, "warm", 100);
+		add(sketch, "other", 639 - 400);
+		long hot = count(sketch, "hot");
+		long warm = count(sketch, "warm");
+
+		// 第640次访问触发减半
+		add(sketch, "other", 1);
+
+		assertEquals(hot >>> 1, count(sketch, "hot"));
+		assertEquals(warm >>> 1, count(sketch, "warm"));
+
+		// 减半后的计数在新访问中继续累加
+		add(sketch, "warm", 1);
+		assertEquals((warm >>> 1) + 1, count(sketch, "warm"));
+	}
+
+	@Test
+	public void concurrentAddsKeepHottestKeys() throws Exception {
+		HotKeySketch sketch = new HotKeySketch(1024, 10);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 5000; i++) {
+						sketch.add("hot");
+						sketch.add("key-" + thread + "-" + i);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		List<Map.Entry<String, Long>> top = sketch.topKeys();
+
+		assertEquals(10, top.size());
+		assertEquals("hot", top.get(0).getKey());
+		for (int i = 1; i < top.size(); i++) {
+			assertTrue(top.get(i - 1).getValue() >= top.get(i).getValue());
+		}
+	}
+
+	private static void add(HotKeySketch sketch, String key, int times) {
+		for (int i = 0; i < times; i++) {
+			sketch.add(key);
+		}
+	}
+
+	private static long count(HotKeySketch sketch, String key) {
+		for (Map.Entry<String, Long> entry : sketch.topKeys()) {
+			if (entry.getKey().equals(key)) {
+				return entry.getValue();
+			}
+		}
+		return 0;
+	}
+}
@@ -6,4 +6,10 @@ import org.apache.ibatis.annotations.Select;
 public interface SeqenceMapper {
 	@Select("select ${seqName}.nextval from dual")
 	Long getSequence(@Param("seqName") String seqName);
+
+	/**
+	 * 序列的INCREMENT BY，序列不存在时返回null
+	 */
+	@Select("select increment_by from user_sequences where sequence_name = upper(#{seqName})")
+	Long getIncrement(@Param("seqName") String seqName);
 }
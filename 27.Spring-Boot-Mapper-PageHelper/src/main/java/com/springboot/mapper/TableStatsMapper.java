@@ -0,0 +1,10 @@
+package com.springboot.mapper;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+public interface TableStatsMapper {
+	// 统计信息中的表行数，未收集统计信息时为null
+	@Select("select num_rows from user_tables where table_name = upper(#{tableName})")
+	Long getEstimatedRows(@Param("tableName") String tableName);
+}
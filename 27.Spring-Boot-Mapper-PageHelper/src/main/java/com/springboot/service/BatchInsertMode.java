@@ -0,0 +1,16 @@
+package com.springboot.service;
+
+/**
+ * 批量保存的方式
+ */
+public enum BatchInsertMode {
+	/**
+	 * 逐条执行insert，由JDBC批处理每batch.size条提交一次，主键可由序列预先分配，适用于所有数据库
+	 */
+	JDBC_BATCH,
+	/**
+	 * 使用MySqlMapper.insertList每batch.size条拼成一条多行insert，
+	 * 不插入主键列，主键需要由数据库自增生成，仅适用于MySQL、H2等支持多行VALUES的数据库
+	 */
+	MULTI_ROW
+}
@@ -0,0 +1,15 @@
+package com.springboot.service;
+
+/**
+ * 分页查询时总数的计算方式
+ */
+public enum CountMode {
+	/**
+	 * 精确计数，结果按查询条件短时间缓存
+	 */
+	EXACT,
+	/**
+	 * 无查询条件时使用表的统计信息估算总数，没有统计信息或有查询条件时退化为EXACT
+	 */
+	ESTIMATED
+}
@@ -5,6 +5,8 @@ import java.util.List;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Service;
 
+import com.github.pagehelper.PageInfo;
+
 @Service
 public interface IService<T> {
 
@@ -22,6 +24,35 @@ public interface IService<T> {
 
     int updateNotNull(T entity);
 
+    /**
+     * 批量保存，按batch.size分批执行，主键为空时按序列预先分配
+     * 使用BATCH执行器，不能在已经执行过其他语句的事务中调用
+     */
+    int saveAll(List<T> entities);
+
+    /**
+     * 批量根据主键更新属性不为null的值，按batch.size分批执行
+     */
+    int updateAllNotNull(List<T> entities);
+
     List<T> selectByExample(Object example);
 
+    /**
+     * 分页查询，总数和当前页并发执行，总数按查询条件短时间缓存，翻页时不再重复执行COUNT
+     *
+     * @param example 查询条件，为null时查询全部
+     */
+    PageInfo<T> selectPage(Object example, int pageNum, int pageSize);
+
+    PageInfo<T> selectPage(Object example, int pageNum, int pageSize, CountMode countMode);
+
+    /**
+     * 游标分页，按排序列的值定位下一页，不使用OFFSET，也不执行COUNT，翻页深度不影响查询速度
+     *
+     * @param lastKey 上一页返回的分页标识，查询第一页时为null
+     * @param size 每页条数
+     * @param sortColumns 排序列，格式为"属性名"或"属性名 desc"，不传时按主键排序
+     */
+    KeysetPage<T> selectPageAfter(String lastKey, int size, String... sortColumns);
+
 }
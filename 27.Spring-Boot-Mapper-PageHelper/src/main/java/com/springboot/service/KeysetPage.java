@@ -0,0 +1,30 @@
+package com.springboot.service;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * nextKey为下一页的分页标识，原样传回selectPageAfter即可取下一页，为null时表示没有更多数据
+ */
+public class KeysetPage<T> {
+
+	private final List<T> list;
+	private final String nextKey;
+
+	public KeysetPage(List<T> list, String nextKey) {
+		this.list = list;
+		this.nextKey = nextKey;
+	}
+
+	public List<T> getList() {
+		return list;
+	}
+
+	public String getNextKey() {
+		return nextKey;
+	}
+
+	public boolean isHasMore() {
+		return nextKey != null;
+	}
+}
@@ -1,14 +1,47 @@
 package com.springboot.service.impl;
 
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.github.pagehelper.Page;
+import com.github.pagehelper.PageHelper;
+import com.github.pagehelper.PageInfo;
 import com.springboot.mapper.SeqenceMapper;
+import com.springboot.mapper.TableStatsMapper;
+import com.springboot.service.BatchInsertMode;
+import com.springboot.service.CountMode;
 import com.springboot.service.IService;
+import com.springboot.service.KeysetPage;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import tk.mybatis.mapper.common.Mapper;
+import tk.mybatis.mapper.common.MySqlMapper;
+import tk.mybatis.mapper.entity.EntityColumn;
+import tk.mybatis.mapper.entity.Example;
+import tk.mybatis.mapper.mapperhelper.EntityHelper;
 
 public abstract class BaseService<T> implements IService<T> {
 
@@ -16,13 +49,73 @@ public abstract class BaseService<T> implements IService<T> {
     protected Mapper<T> mapper;
     @Autowired
     protected SeqenceMapper seqenceMapper;
+    @Autowired
+    protected TableStatsMapper tableStatsMapper;
+    @Autowired
+    protected SequenceAllocator sequenceAllocator;
+    @Autowired
+    protected SqlSessionFactory sqlSessionFactory;
+
+    @Value("${page.count-cache.ttl-seconds:30}")
+    private long countCacheTtlSeconds;
+    @Value("${page.count-cache.max-size:1000}")
+    private int countCacheMaxSize;
+    @Value("${batch.size:500}")
+    private int batchSize;
+    @Value("${batch.insert-mode:JDBC_BATCH}")
+    private BatchInsertMode insertMode;
+
+    protected final Class<?> entityClass = GenericTypeResolver.resolveTypeArgument(getClass(), BaseService.class);
+    private final Map<String, KeysetCursor> keysetCursors = new ConcurrentHashMap<>();
+    // 分页时并发执行COUNT
+    private final ExecutorService countExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private PageCountCache pageCountCache;
+    // 批量保存、更新使用的BATCH执行器，不注册为Bean，避免替换默认的SqlSessionTemplate
+    private SqlSessionTemplate batchSqlSessionTemplate;
+
+    @PostConstruct
+    public void init() {
+        this.pageCountCache = new PageCountCache(countCacheTtlSeconds * 1000, countCacheMaxSize);
+        this.batchSqlSessionTemplate = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        countExecutor.shutdownNow();
+    }
+
+    /**
+     * 数据变化后清空分页总数缓存，在写入之后调用；
+     * 在事务中时等到事务结束后再清空，否则提交前其他线程仍可能按旧数据重新缓存总数
+     */
+    private void invalidatePageCounts() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    pageCountCache.clear();
+                }
+            });
+        } else {
+            pageCountCache.clear();
+        }
+    }
+
+    /**
+     * 主键对应的序列名，批量保存时为主键为空的实体预先分配ID，返回null表示不分配
+     * 主键属性只能是Integer或Long，其他类型在批量保存时抛出IllegalStateException
+     */
+    protected String getSequenceName() {
+        return null;
+    }
     
     public Mapper<T> getMapper() {
         return mapper;
     }
     @Override
     public Long getSequence(@Param("seqName") String seqName){
-    	return seqenceMapper.getSequence(seqName);
+    	//说明：按段从序列分配，sequence.allocation-size为1时每次都访问数据库
+    	return sequenceAllocator.next(seqName);
     }
     
     @Override
@@ -40,25 +133,65 @@ public abstract class BaseService<T> implements IService<T> {
     @Override
     public int save(T entity) {
         //说明：保存一个实体，null的属性也会保存，不会使用数据库默认值
-        return mapper.insert(entity);
+        int rows = mapper.insert(entity);
+        invalidatePageCounts();
+        return rows;
     }
 
     @Override
     public int delete(Object key) {
         //说明：根据主键字段进行删除，方法参数必须包含完整的主键属性
-        return mapper.deleteByPrimaryKey(key);
+        int rows = mapper.deleteByPrimaryKey(key);
+        invalidatePageCounts();
+        return rows;
     }
 
     @Override
     public int updateAll(T entity) {
         //说明：根据主键更新实体全部字段，null值会被更新
-        return mapper.updateByPrimaryKey(entity);
+        int rows = mapper.updateByPrimaryKey(entity);
+        invalidatePageCounts();
+        return rows;
     }
 
     @Override
     public int updateNotNull(T entity) {
         //根据主键更新属性不为null的值
-        return mapper.updateByPrimaryKeySelective(entity);
+        int rows = mapper.updateByPrimaryKeySelective(entity);
+        invalidatePageCounts();
+        return rows;
+    }
+
+    @Override
+    @Transactional
+    public int saveAll(List<T> entities) {
+        //说明：JDBC_BATCH模式下逐条insert并按batch.size提交批处理，MULTI_ROW模式下每batch.size条拼成一条insert
+        if (insertMode == BatchInsertMode.MULTI_ROW) {
+            if (!(mapper instanceof MySqlMapper)) {
+                throw new IllegalStateException(entityClass.getSimpleName() + "的Mapper未继承MySqlMapper，不支持多行insert");
+            }
+            @SuppressWarnings("unchecked")
+            MySqlMapper<T> mySqlMapper = (MySqlMapper<T>) mapper;
+            int rows = 0;
+            for (int from = 0; from < entities.size(); from += batchSize) {
+                rows += mySqlMapper.insertList(entities.subList(from, Math.min(from + batchSize, entities.size())));
+            }
+            invalidatePageCounts();
+            return rows;
+        }
+        assignIds(entities);
+        int rows = executeBatch(entities, Mapper::insert);
+        invalidatePageCounts();
+        return rows;
+    }
+
+    @Override
+    @Transactional
+    public int updateAllNotNull(List<T> entities) {
+        //说明：属性为null的列不同会生成不同的SQL，BATCH执行器对连续相同的SQL合并为一个批处理
+        int rows = executeBatch(entities, Mapper::updateByPrimaryKeySelective);
+        invalidatePageCounts();
+        return rows;
     }
 
     @Override
@@ -67,4 +200,171 @@ public abstract class BaseService<T> implements IService<T> {
         //重点：这个查询支持通过Example类指定查询列，通过selectProperties方法指定查询列
         return mapper.selectByExample(example);
     }
+
+    @Override
+    public KeysetPage<T> selectPageAfter(String lastKey, int size, String... sortColumns) {
+        //说明：以上一页最后一行的排序列的值作为查询条件，多取一行判断是否还有下一页
+        if (size <= 0) {
+            throw new IllegalArgumentException("size必须大于0");
+        }
+        KeysetCursor cursor = keysetCursors.computeIfAbsent(String.join(",", sortColumns),
+                key -> new KeysetCursor(entityClass, sortColumns));
+        Example example = new Example(entityClass);
+        cursor.apply(example, lastKey);
+        PageHelper.startPage(1, size + 1, false);
+        List<T> list = mapper.selectByExample(example);
+        if (list.size() <= size) {
+            return new KeysetPage<>(list, null);
+        }
+        List<T> page = new ArrayList<>(list.subList(0, size));
+        return new KeysetPage<>(page, cursor.encode(page.get(size - 1)));
+    }
+
+    @Override
+    public PageInfo<T> selectPage(Object example, int pageNum, int pageSize) {
+        return selectPage(example, pageNum, pageSize, CountMode.EXACT);
+    }
+
+    @Override
+    public PageInfo<T> selectPage(Object example, int pageNum, int pageSize, CountMode countMode) {
+        //说明：总数命中缓存时只查当前页，否则COUNT在虚拟线程中与当前页并发执行
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize必须大于0");
+        }
+        Object query = example != null ? example : new Example(entityClass);
+        String key = query instanceof Example e ? PageCountCache.key(e) : null;
+        Long total = key != null ? pageCountCache.get(key) : null;
+        if (total == null && countMode == CountMode.ESTIMATED && isUnfiltered(query)) {
+            total = estimatedCount(key);
+        }
+        Page<T> page;
+        if (total != null) {
+            page = selectPageOnly(query, reasonablePageNum(pageNum, pageSize, total), pageSize);
+        } else {
+            Future<Long> count = countExecutor.submit(() -> (long) mapper.selectCountByExample(query));
+            try {
+                page = selectPageOnly(query, Math.max(pageNum, 1), pageSize);
+            } catch (RuntimeException e) {
+                count.cancel(true);
+                throw e;
+            }
+            total = await(count);
+            if (key != null) {
+                pageCountCache.put(key, total);
+            }
+            int lastPageNum = reasonablePageNum(pageNum, pageSize, total);
+            if (lastPageNum != page.getPageNum()) {
+                // 页码超出总页数，与pagehelper.reasonable一致返回最后一页
+                page = selectPageOnly(query, lastPageNum, pageSize);
+            }
+        }
+        page.setTotal(total);
+        return new PageInfo<>(page);
+    }
+
+    private Page<T> selectPageOnly(Object example, int pageNum, int pageSize) {
+        PageHelper.startPage(pageNum, pageSize, false);
+        return (Page<T>) mapper.selectByExample(example);
+    }
+
+    private static int reasonablePageNum(int pageNum, int pageSize, long total) {
+        int pages = (int) ((total + pageSize - 1) / pageSize);
+        return Math.max(1, Math.min(pageNum, pages));
+    }
+
+    private static boolean isUnfiltered(Object example) {
+        return example instanceof Example e && !e.isDistinct()
+                && e.getOredCriteria().stream().noneMatch(Example.Criteria::isValid);
+    }
+
+    /**
+     * 根据表的统计信息估算总数，没有统计信息时返回null
+     */
+    private Long estimatedCount(String key) {
+        String estimatedKey = "estimated|" + key;
+        Long rows = pageCountCache.get(estimatedKey);
+        if (rows == null) {
+            rows = tableStatsMapper.getEstimatedRows(EntityHelper.getEntityTable(entityClass).getName());
+            if (rows != null) {
+                pageCountCache.put(estimatedKey, rows);
+            }
+        }
+        return rows;
+    }
+
+    private static long await(Future<Long> count) {
+        try {
+            return count.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            count.cancel(true);
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void assignIds(List<T> entities) {
+        String sequenceName = getSequenceName();
+        if (sequenceName == null) {
+            return;
+        }
+        EntityColumn pk = EntityHelper.getPKColumns(entityClass).iterator().next();
+        Class<?> idType = pk.getJavaType();
+        if (idType != Integer.class && idType != Long.class) {
+            // 基本类型的主键默认为0，无法判断是否已赋值
+            throw new IllegalStateException(entityClass.getSimpleName() + "." + pk.getProperty() + "的类型为"
+                    + idType.getName() + "，序列分配的主键只支持Integer或Long");
+        }
+        for (T entity : entities) {
+            MetaObject metaObject = SystemMetaObject.forObject(entity);
+            if (metaObject.getValue(pk.getProperty()) == null) {
+                long id = sequenceAllocator.next(sequenceName);
+                metaObject.setValue(pk.getProperty(), idType == Integer.class ? Integer.valueOf((int) id) : Long.valueOf(id));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int executeBatch(List<T> entities, BiConsumer<Mapper<T>, T> statement) {
+        Mapper<T> batchMapper = (Mapper<T>) batchSqlSessionTemplate.getMapper(mapperInterface());
+        int rows = 0;
+        int pending = 0;
+        for (T entity : entities) {
+            statement.accept(batchMapper, entity);
+            if (++pending >= batchSize) {
+                rows += affectedRows(batchSqlSessionTemplate.flushStatements());
+                pending = 0;
+            }
+        }
+        return rows + affectedRows(batchSqlSessionTemplate.flushStatements());
+    }
+
+    /**
+     * 注入的mapper是Mapper接口的代理，从中找到具体的Mapper接口，以便在BATCH执行器中获取同一个Mapper
+     */
+    private Class<?> mapperInterface() {
+        for (Class<?> type : mapper.getClass().getInterfaces()) {
+            if (Mapper.class.isAssignableFrom(type)) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("无法确定" + entityClass.getSimpleName() + "的Mapper接口");
+    }
+
+    /**
+     * 汇总批处理影响的行数，驱动改写批量语句后可能只返回SUCCESS_NO_INFO，此时按1行计
+     */
+    private static int affectedRows(List<BatchResult> results) {
+        int rows = 0;
+        for (BatchResult result : results) {
+            for (int count : result.getUpdateCounts()) {
+                rows += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
 }
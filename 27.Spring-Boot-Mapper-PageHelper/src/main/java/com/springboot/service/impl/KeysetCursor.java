@@ -0,0 +1,174 @@
+package com.springboot.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import tk.mybatis.mapper.entity.EntityColumn;
+import tk.mybatis.mapper.entity.Example;
+import tk.mybatis.mapper.mapperhelper.EntityHelper;
+
+/**
+ * 游标分页的排序规则，负责生成查询条件以及分页标识的编解码
+ * 分页标识是最后一行排序列的值加上排序规则本身，经Base64编码后对调用方不透明，
+ * 排序规则不一致的分页标识会被拒绝
+ */
+final class KeysetCursor {
+
+	private static final Map<Class<?>, Function<String, Object>> PARSERS = Map.ofEntries(
+			Map.entry(String.class, s -> s),
+			Map.entry(Long.class, Long::valueOf),
+			Map.entry(Integer.class, Integer::valueOf),
+			Map.entry(Short.class, Short::valueOf),
+			Map.entry(Byte.class, Byte::valueOf),
+			Map.entry(Double.class, Double::valueOf),
+			Map.entry(Float.class, Float::valueOf),
+			Map.entry(Boolean.class, Boolean::valueOf),
+			Map.entry(BigDecimal.class, BigDecimal::new),
+			Map.entry(BigInteger.class, BigInteger::new),
+			Map.entry(Date.class, s -> new Date(Long.parseLong(s))),
+			Map.entry(LocalDate.class, LocalDate::parse),
+			Map.entry(LocalDateTime.class, LocalDateTime::parse),
+			Map.entry(Instant.class, Instant::parse));
+
+	private final List<String> properties = new ArrayList<>();
+	private final List<Class<?>> types = new ArrayList<>();
+	private final List<Boolean> descending = new ArrayList<>();
+	private final String signature;
+
+	/**
+	 * @param entityClass 实体类
+	 * @param sortColumns 排序列，格式为"属性名"或"属性名 asc|desc"，主键会自动追加到最后以保证顺序唯一
+	 */
+	KeysetCursor(Class<?> entityClass, String... sortColumns) {
+		Set<EntityColumn> columns = EntityHelper.getColumns(entityClass);
+		Set<String> used = new LinkedHashSet<>();
+		if (sortColumns != null) {
+			for (String sortColumn : sortColumns) {
+				String[] parts = sortColumn.trim().split("\\s+");
+				if (parts.length > 2 || (parts.length == 2 && !parts[1].matches("(?i)asc|desc"))) {
+					throw new IllegalArgumentException("排序列格式错误: " + sortColumn);
+				}
+				add(columns, parts[0], parts.length == 2 && "desc".equalsIgnoreCase(parts[1]), used);
+			}
+		}
+		for (EntityColumn pk : EntityHelper.getPKColumns(entityClass)) {
+			if (!used.contains(pk.getProperty())) {
+				add(columns, pk.getProperty(), false, used);
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < properties.size(); i++) {
+			sb.append(properties.get(i)).append(descending.get(i) ? " desc," : " asc,");
+		}
+		this.signature = sb.toString();
+	}
+
+	private void add(Set<EntityColumn> columns, String property, boolean desc, Set<String> used) {
+		EntityColumn column = columns.stream()
+				.filter(c -> c.getProperty().equals(property))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("实体中不存在属性: " + property));
+		if (!PARSERS.containsKey(column.getJavaType())) {
+			throw new IllegalArgumentException("不支持作为排序列的属性类型: " + property);
+		}
+		if (!used.add(property)) {
+			throw new IllegalArgumentException("排序列重复: " + property);
+		}
+		properties.add(property);
+		types.add(column.getJavaType());
+		descending.add(desc);
+	}
+
+	/**
+	 * 为example添加排序，以及排在lastKey之后的查询条件
+	 * 多列排序展开为 (a > ?) or (a = ? and b > ?) ...，排序列的值不能为null
+	 */
+	void apply(Example example, String lastKey) {
+		for (int i = 0; i < properties.size(); i++) {
+			Example.OrderBy orderBy = example.orderBy(properties.get(i));
+			if (descending.get(i)) {
+				orderBy.desc();
+			} else {
+				orderBy.asc();
+			}
+		}
+		if (lastKey == null || lastKey.isEmpty()) {
+			return;
+		}
+		Object[] values = decode(lastKey);
+		for (int i = 0; i < properties.size(); i++) {
+			Example.Criteria criteria = i == 0 ? example.createCriteria() : example.or();
+			for (int j = 0; j < i; j++) {
+				criteria.andEqualTo(properties.get(j), values[j]);
+			}
+			if (descending.get(i)) {
+				criteria.andLessThan(properties.get(i), values[i]);
+			} else {
+				criteria.andGreaterThan(properties.get(i), values[i]);
+			}
+		}
+	}
+
+	/**
+	 * 以实体的排序列的值生成分页标识
+	 */
+	String encode(Object entity) {
+		MetaObject metaObject = SystemMetaObject.forObject(entity);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeUTF(signature);
+			for (String property : properties) {
+				Object value = metaObject.getValue(property);
+				if (value == null) {
+					throw new IllegalStateException("排序列的值不能为null: " + property);
+				}
+				out.writeUTF(value instanceof Date date ? String.valueOf(date.getTime()) : value.toString());
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	private Object[] decode(String lastKey) {
+		String[] raw = new String[properties.size()];
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(lastKey)))) {
+			if (!signature.equals(in.readUTF())) {
+				throw new IllegalArgumentException("分页标识与排序列不匹配");
+			}
+			for (int i = 0; i < raw.length; i++) {
+				raw[i] = in.readUTF();
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("无效的分页标识", e);
+		}
+		Object[] values = new Object[raw.length];
+		for (int i = 0; i < raw.length; i++) {
+			try {
+				values[i] = PARSERS.get(types.get(i)).apply(raw[i]);
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("无效的分页标识", e);
+			}
+		}
+		return values;
+	}
+}
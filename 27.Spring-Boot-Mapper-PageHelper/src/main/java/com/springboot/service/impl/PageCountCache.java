@@ -0,0 +1,97 @@
+package com.springboot.service.impl;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import tk.mybatis.mapper.entity.Example;
+
+/**
+ * 分页总数缓存
+ * 以归一化后的Example为键，排序、查询列等不影响总数的部分不参与计算，
+ * 翻页时只有第一次需要执行COUNT，之后在有效期内直接使用缓存的总数
+ */
+final class PageCountCache {
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final long ttlMillis;
+	private final int maxSize;
+
+	PageCountCache(long ttlMillis, int maxSize) {
+		this.ttlMillis = ttlMillis;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * 返回缓存的总数，过期或不存在时返回null
+	 */
+	Long get(String key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAt < System.currentTimeMillis()) {
+			entries.remove(key, entry);
+			return null;
+		}
+		return entry.count;
+	}
+
+	void put(String key, long count) {
+		if (entries.size() >= maxSize) {
+			long now = System.currentTimeMillis();
+			entries.values().removeIf(entry -> entry.expiresAt < now);
+			if (entries.size() >= maxSize) {
+				entries.clear();
+			}
+		}
+		entries.put(key, new Entry(count, System.currentTimeMillis() + ttlMillis));
+	}
+
+	/**
+	 * 数据发生变化时清空缓存
+	 */
+	void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * 把Example中影响总数的部分转换为字符串
+	 */
+	static String key(Example example) {
+		StringBuilder sb = new StringBuilder(example.getEntityClass().getName());
+		sb.append('|').append(example.getDynamicTableName());
+		sb.append('|').append(example.getCountColumn());
+		if (example.isDistinct()) {
+			sb.append("|distinct").append(example.getSelectColumns());
+		}
+		for (Example.Criteria criteria : example.getOredCriteria()) {
+			if (!criteria.isValid()) {
+				continue;
+			}
+			sb.append('|').append(criteria.getAndOr()).append('(');
+			for (Example.Criterion criterion : criteria.getAllCriteria()) {
+				sb.append(criterion.getAndOr()).append(' ').append(criterion.getCondition());
+				if (!criterion.isNoValue()) {
+					sb.append(' ').append(value(criterion.getValue()));
+				}
+				if (criterion.isBetweenValue()) {
+					sb.append(' ').append(value(criterion.getSecondValue()));
+				}
+				sb.append(';');
+			}
+			sb.append(')');
+		}
+		return sb.toString();
+	}
+
+	private static String value(Object value) {
+		if (value instanceof Date date) {
+			return "date:" + date.getTime();
+		}
+		return value == null ? "null" : value.getClass().getSimpleName() + ":" + value;
+	}
+
+	private record Entry(long count, long expiresAt) {
+	}
+}
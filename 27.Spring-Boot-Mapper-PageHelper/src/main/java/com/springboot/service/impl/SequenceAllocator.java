@@ -0,0 +1,175 @@
+package com.springboot.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.springboot.mapper.SeqenceMapper;
+
+/**
+ * 序列号分段分配器
+ * 每次从数据库序列取一个值换取一段ID，段内的ID通过原子计数无锁分配，
+ * 当前段用掉约80%时在后台预取下一段，只有切换分段时才需要加锁。
+ * 分段大小一旦投入使用只能增大不能减小：HILO下减小后新的段会与已经分配过的段重叠，
+ * POOLED下分段大小必须等于序列的INCREMENT BY，首次取序列时校验，不一致直接失败
+ */
+@Component
+public class SequenceAllocator {
+
+	/**
+	 * 序列值换算为ID段的方式
+	 */
+	public enum Strategy {
+		/**
+		 * 序列按1递增，值v对应ID段[v * size, v * size + size - 1]，适用于已有序列
+		 */
+		HILO,
+		/**
+		 * 序列以INCREMENT BY size递增，值v对应ID段[v, v + size - 1]
+		 */
+		POOLED
+	}
+
+	private static final ExecutorService PREFETCH_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+	@Autowired
+	private SeqenceMapper seqenceMapper;
+
+	/**
+	 * 每段的ID数，默认值与application.yml一致，避免未加载配置时以较小的分段重复分配ID
+	 */
+	@Value("${sequence.allocation-size:100}")
+	private int allocationSize;
+
+	@Value("${sequence.strategy:HILO}")
+	private Strategy strategy;
+
+	private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+	public long next(String seqName) {
+		return pools.computeIfAbsent(seqName, Pool::new).next();
+	}
+
+	private final class Pool {
+
+		private final String seqName;
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile boolean validated;
+		private volatile Block current;
+		private CompletableFuture<Block> prefetched;
+
+		Pool(String seqName) {
+			this.seqName = seqName;
+		}
+
+		long next() {
+			for (;;) {
+				Block block = current;
+				if (block != null) {
+					long value = block.next.getAndIncrement();
+					if (value <= block.end) {
+						if (value == block.prefetchAt) {
+							prefetch();
+						}
+						return value;
+					}
+				}
+				advance(block);
+			}
+		}
+
+		private void prefetch() {
+			lock.lock();
+			try {
+				if (prefetched == null) {
+					prefetched = CompletableFuture.supplyAsync(this::fetch, PREFETCH_EXECUTOR);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * 当前段用完时切换到预取的下一段，没有预取时同步获取
+		 */
+		private void advance(Block exhausted) {
+			lock.lock();
+			try {
+				if (current != exhausted) {
+					// 其他线程已经切换
+					return;
+				}
+				CompletableFuture<Block> future = prefetched;
+				prefetched = null;
+				// 同步获取也放到独立线程中执行，不加入调用方的事务，
+				// 序列本身不受回滚影响，这样批量保存的事务中只会有BATCH执行器的SqlSession
+				if (future == null) {
+					future = CompletableFuture.supplyAsync(this::fetch, PREFETCH_EXECUTOR);
+				}
+				current = join(future);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private Block fetch() {
+			if (!validated) {
+				validate();
+				validated = true;
+			}
+			long value = seqenceMapper.getSequence(seqName);
+			long start = strategy == Strategy.HILO ? value * allocationSize : value;
+			return new Block(start, start + allocationSize - 1);
+		}
+
+		/**
+		 * 在取序列的线程中执行，与fetch一样不加入调用方的事务
+		 */
+		private void validate() {
+			if (allocationSize < 1) {
+				throw new IllegalStateException("sequence.allocation-size必须大于0: " + allocationSize);
+			}
+			if (strategy != Strategy.POOLED) {
+				return;
+			}
+			Long increment = seqenceMapper.getIncrement(seqName);
+			if (increment == null || increment != allocationSize) {
+				throw new IllegalStateException("序列" + seqName + "的INCREMENT BY为" + increment
+						+ "，与sequence.allocation-size=" + allocationSize + "不一致，继续分配会产生重复ID");
+			}
+		}
+
+		private Block join(CompletableFuture<Block> future) {
+			try {
+				return future.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause) {
+					throw cause;
+				}
+				throw e;
+			}
+		}
+	}
+
+	private static final class Block {
+
+		private final AtomicLong next;
+		private final long end;
+		private final long prefetchAt;
+
+		Block(long start, long end) {
+			this.next = new AtomicLong(start);
+			this.end = end;
+			this.prefetchAt = end - (end - start + 1) / 5;
+		}
+	}
+}
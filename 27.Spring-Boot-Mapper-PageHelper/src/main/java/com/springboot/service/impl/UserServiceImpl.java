@@ -8,5 +8,8 @@ import com.springboot.service.UserService;
 @Repository("userService")
 public class UserServiceImpl extends BaseService<User> implements UserService{
 
-	
+	@Override
+	protected String getSequenceName() {
+		return "seq_user";
+	}
 }
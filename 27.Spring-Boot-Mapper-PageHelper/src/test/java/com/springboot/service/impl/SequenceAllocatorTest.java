@@ -0,0 +1,114 @@
+package com.springboot.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.springboot.mapper.SeqenceMapper;
+
+/**
+ * 多线程并发取ID不重复，序列用内存计数模拟
+ */
+public class SequenceAllocatorTest {
+
+	private static final int THREADS = 16;
+	private static final int IDS_PER_THREAD = 5000;
+
+	@Test
+	public void hiloIdsAreUniqueUnderConcurrency() throws Exception {
+		StubSeqenceMapper mapper = new StubSeqenceMapper(1);
+		SequenceAllocator allocator = allocator(mapper, 10, SequenceAllocator.Strategy.HILO);
+
+		Set<Long> ids = allocateConcurrently(allocator);
+
+		assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+		// 每段10个ID，预取最多多取一段
+		assertTrue(mapper.calls.get() <= THREADS * IDS_PER_THREAD / 10 + 2);
+	}
+
+	@Test
+	public void pooledIdsAreUniqueUnderConcurrency() throws Exception {
+		StubSeqenceMapper mapper = new StubSeqenceMapper(50);
+		SequenceAllocator allocator = allocator(mapper, 50, SequenceAllocator.Strategy.POOLED);
+
+		Set<Long> ids = allocateConcurrently(allocator);
+
+		assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+	}
+
+	@Test
+	public void pooledFailsFastWhenIncrementDiffers() {
+		SequenceAllocator allocator = allocator(new StubSeqenceMapper(100), 50, SequenceAllocator.Strategy.POOLED);
+
+		assertThrows(IllegalStateException.class, () -> allocator.next("seq_test"));
+	}
+
+	private static Set<Long> allocateConcurrently(SequenceAllocator allocator) throws Exception {
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		CountDownLatch start = new CountDownLatch(1);
+		try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int j = 0; j < IDS_PER_THREAD; j++) {
+						ids.add(allocator.next("seq_test"));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		return ids;
+	}
+
+	private static SequenceAllocator allocator(SeqenceMapper mapper, int allocationSize, SequenceAllocator.Strategy strategy) {
+		SequenceAllocator allocator = new SequenceAllocator();
+		ReflectionTestUtils.setField(allocator, "seqenceMapper", mapper);
+		ReflectionTestUtils.setField(allocator, "allocationSize", allocationSize);
+		ReflectionTestUtils.setField(allocator, "strategy", strategy);
+		return allocator;
+	}
+
+	/**
+	 * 按increment递增的序列，从increment开始，与Oracle序列的默认起始值一致
+	 */
+	private static final class StubSeqenceMapper implements SeqenceMapper {
+
+		private final long increment;
+		private final AtomicLong value;
+		private final AtomicLong calls = new AtomicLong();
+
+		StubSeqenceMapper(long increment) {
+			this.increment = increment;
+			this.value = new AtomicLong(1 - increment);
+		}
+
+		@Override
+		public Long getSequence(String seqName) {
+			calls.incrementAndGet();
+			return value.addAndGet(increment);
+		}
+
+		@Override
+		public Long getIncrement(String seqName) {
+			return increment;
+		}
+	}
+}
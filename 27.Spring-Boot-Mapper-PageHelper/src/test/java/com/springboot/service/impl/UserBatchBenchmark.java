@@ -0,0 +1,161 @@
+package com.springboot.service.impl;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import com.github.pagehelper.PageInterceptor;
+import com.springboot.bean.User;
+import com.springboot.mapper.SeqenceMapper;
+import com.springboot.mapper.UserMapper;
+import com.springboot.service.UserService;
+
+import tk.mybatis.spring.annotation.MapperScan;
+
+/**
+ * 用户批量保存吞吐量基准测试（行/秒）
+ * single为原来的写法：每行先取一次序列，再单独insert并自动提交；
+ * saveAll为UserService.saveAll：序列按段分配，JDBC批处理按batchSize提交
+ * 使用H2内存数据库（Oracle模式），可通过 -Dbenchmark.url、-Dbenchmark.username、
+ * -Dbenchmark.password 指向真实的数据库（需已存在T_USER表和SEQ_USER序列）
+ *
+ * 运行方式：mvn test-compile 后在IDE中执行main方法
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(UserBatchBenchmark.ROWS)
+public class UserBatchBenchmark {
+
+    static final int ROWS = 1000;
+
+    @Param({"100", "500"})
+    private int batchSize;
+
+    private AnnotationConfigApplicationContext context;
+    private UserService userService;
+    private UserMapper userMapper;
+    private SeqenceMapper seqenceMapper;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setup() {
+        System.setProperty("batch.size", String.valueOf(batchSize));
+        System.setProperty("sequence.allocation-size", "100");
+        context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+        userService = context.getBean(UserService.class);
+        userMapper = context.getBean(UserMapper.class);
+        seqenceMapper = context.getBean(SeqenceMapper.class);
+        jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        if (jdbcTemplate.getDataSource() instanceof PooledDataSource pooled && pooled.getUrl().startsWith("jdbc:h2:")) {
+            jdbcTemplate.execute("create table if not exists T_USER (ID number(19) primary key, USERNAME varchar2(20),"
+                    + " PASSWD varchar2(128), CREATE_TIME date, STATUS char(1))");
+            jdbcTemplate.execute("create sequence if not exists seq_user");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.update("delete from T_USER where USERNAME = 'bench'");
+    }
+
+    @TearDown
+    public void tearDown() {
+        truncate();
+        context.close();
+    }
+
+    private static User newUser() {
+        User user = new User();
+        user.setUsername("bench");
+        user.setPasswd("ac089b11709f9b9e9980e7c497268dfa");
+        user.setCreateTime(new Date());
+        user.setStatus("0");
+        return user;
+    }
+
+    @Benchmark
+    public void single() {
+        for (int i = 0; i < ROWS; i++) {
+            User user = newUser();
+            user.setId(seqenceMapper.getSequence("seq_user"));
+            userMapper.insert(user);
+        }
+    }
+
+    @Benchmark
+    public int saveAll() {
+        List<User> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            users.add(newUser());
+        }
+        return userService.saveAll(users);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UserBatchBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import({ UserServiceImpl.class, SequenceAllocator.class })
+    @MapperScan(basePackages = "com.springboot.mapper", properties = { "mappers=com.springboot.config.MyMapper",
+            "notEmpty=false", "identity=oracle" })
+    static class BenchmarkConfig {
+
+        @Bean
+        public DataSource dataSource() {
+            String url = System.getProperty("benchmark.url", "jdbc:h2:mem:user;MODE=Oracle;DB_CLOSE_DELAY=-1");
+            return new PooledDataSource(url.startsWith("jdbc:h2:") ? "org.h2.Driver" : "oracle.jdbc.OracleDriver", url,
+                    System.getProperty("benchmark.username", "sa"), System.getProperty("benchmark.password", ""));
+        }
+
+        @Bean
+        public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+            SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+            factoryBean.setDataSource(dataSource);
+            factoryBean.setPlugins(new Interceptor[] { new PageInterceptor() });
+            return factoryBean.getObject();
+        }
+
+        @Bean
+        public DataSourceTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}